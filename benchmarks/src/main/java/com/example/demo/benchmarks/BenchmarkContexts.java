@@ -0,0 +1,123 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.DemoApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public final class BenchmarkContexts {
+
+    private BenchmarkContexts() {}
+
+    public static ConfigurableApplicationContext start(String name, String... extraArgs) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args(name, extraArgs));
+    }
+
+    /**
+     * Starts the application with an embedded server on a random port. Every JDBC statement sleeps for
+     * {@code jdbcLatencyMillis} before executing, so that connections are held for as long as they would
+     * be against a remote database rather than an in-memory one.
+     */
+    public static ConfigurableApplicationContext startServer(String name, long jdbcLatencyMillis, String... extraArgs) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.SERVLET);
+        if (jdbcLatencyMillis > 0) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new LatencyDataSource(dataSource, jdbcLatencyMillis) : bean;
+                }
+            }));
+        }
+        String[] serverArgs = {"--server.port=0"};
+        return builder.run(args(name, concat(serverArgs, extraArgs)));
+    }
+
+    private static String[] args(String name, String... extraArgs) {
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"
+        };
+        return concat(args, extraArgs);
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        String[] all = new String[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    private static final class LatencyDataSource extends DelegatingDataSource {
+
+        private final long latencyMillis;
+
+        private LatencyDataSource(DataSource target, long latencyMillis) {
+            super(target);
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(super.getConnection(username, password));
+        }
+
+        private Connection connection(Connection target) {
+            return proxy(Connection.class, target, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Statement statement ? statement(statement) : result;
+            });
+        }
+
+        private Statement statement(Statement target) {
+            Class<? extends Statement> type = target instanceof CallableStatement ? CallableStatement.class
+                    : target instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return proxy(type, target, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(latencyMillis);
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(BenchmarkContexts.class.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+}
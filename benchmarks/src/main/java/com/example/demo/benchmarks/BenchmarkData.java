@@ -0,0 +1,51 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+public final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    public static AuthorEntity author(long id) {
+        return AuthorEntity.builder()
+                .id(id)
+                .name("Author " + id)
+                .age(20 + (int) (id % 60))
+                .build();
+    }
+
+    public static BookEntity book(int index, AuthorEntity authorEntity) {
+        return BookEntity.builder()
+                .isbn(isbn(index))
+                .title("Benchmark Title " + index)
+                .authorEntity(authorEntity)
+                .build();
+    }
+
+    public static BookDto bookDto(int index) {
+        return BookDto.builder()
+                .isbn(isbn(index))
+                .title("Benchmark Title " + index)
+                .author(AuthorDto.builder()
+                        .id((long) index)
+                        .name("Author " + index)
+                        .age(20 + index % 60)
+                        .build())
+                .build();
+    }
+
+    public static List<BookDto> bookDtos(int size) {
+        return IntStream.range(0, size).mapToObj(BenchmarkData::bookDto).toList();
+    }
+
+    public static String isbn(int index) {
+        return String.format("978-0-%04d-%04d-0", index / 10_000, index % 10_000);
+    }
+
+}
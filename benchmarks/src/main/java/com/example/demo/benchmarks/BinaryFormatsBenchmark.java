@@ -0,0 +1,80 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.serialization.DtoSerializationModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a page of books (a list response) and decoding a list of books (a bulk write body) as JSON, CBOR and
+ * Smile, with the mappers configured as in the application. The encoded size of a page is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+
+    private static final TypeReference<List<BookDto>> BOOK_LIST = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Page<BookDto> page;
+
+    private byte[] bulkBody;
+
+    @Setup
+    public void setUp() {
+        DtoSerializationModule module = new DtoSerializationModule();
+        objectMapper = switch (format) {
+            case "json" -> JsonMapper.builder().addModule(module).build();
+            case "cbor" -> CBORMapper.builder().addModule(module).build();
+            case "smile" -> SmileMapper.builder().addModule(module).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        List<BookDto> books = BenchmarkData.bookDtos(pageSize);
+        page = new PageImpl<>(books, PageRequest.of(0, pageSize), 1_000_000);
+        bulkBody = objectMapper.writeValueAsBytes(books);
+        System.out.printf("%n%s: %d bytes per page of %d books, %d bytes per bulk body%n",
+                format, objectMapper.writeValueAsBytes(page).length, pageSize, bulkBody.length);
+    }
+
+    @Benchmark
+    public byte[] writePage() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<BookDto> readBulkBody() {
+        return objectMapper.readValue(bulkBody, BOOK_LIST);
+    }
+
+}
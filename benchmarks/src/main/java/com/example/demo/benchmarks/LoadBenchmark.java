@@ -0,0 +1,179 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.pagination.Cursors;
+import com.example.demo.services.AuthorService;
+import com.example.demo.services.BookService;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.ScrollPosition;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test comparing platform-thread and virtual-thread request execution. Each client
+ * repeatedly requests a random page of books over HTTP; throughput and latency percentiles are reported
+ * per mode and client count.
+ *
+ * <p>Arguments: {@code <clients,...> <seconds> <jdbc-latency-ms> <result-file>}.
+ */
+public final class LoadBenchmark {
+
+    private static final int AUTHORS = 100;
+
+    private static final int BOOKS = 10_000;
+
+    private static final String[] MODES = {"platform", "virtual"};
+
+    private LoadBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int[] clients = Arrays.stream((args.length > 0 ? args[0] : "1000,10000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long jdbcLatencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 2;
+        File result = new File(args.length > 3 ? args[3] : "target/load-result.json");
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String mode : MODES) {
+            try (ConfigurableApplicationContext context = BenchmarkContexts.startServer("load-" + mode, jdbcLatencyMillis,
+                    "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                    "--server.tomcat.max-connections=20000",
+                    "--server.tomcat.accept-count=10000")) {
+                seed(context);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                for (int clientCount : clients) {
+                    run(port, clientCount, Math.max(1, seconds / 5));
+                    Map<String, Object> row = run(port, clientCount, seconds);
+                    row.put("mode", mode);
+                    row.put("jdbcLatencyMs", jdbcLatencyMillis);
+                    results.add(row);
+                    System.out.println(row);
+                }
+            }
+        }
+
+        result.getAbsoluteFile().getParentFile().mkdirs();
+        JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build().writeValue(result, results);
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        AuthorService authorService = context.getBean(AuthorService.class);
+        BookService bookService = context.getBean(BookService.class);
+
+        AuthorEntity[] authors = new AuthorEntity[AUTHORS];
+        for (int i = 0; i < AUTHORS; i++) {
+            AuthorEntity authorEntity = BenchmarkData.author(i);
+            authorEntity.setId(null);
+            authors[i] = authorService.save(authorEntity);
+        }
+
+        List<BookEntity> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(BenchmarkData.book(i, authors[i % AUTHORS]));
+        }
+        bookService.upsertAll(books);
+    }
+
+    private static Map<String, Object> run(int port, int clientCount, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest[] requests = new HttpRequest[BOOKS - 20];
+        for (int i = 0; i < requests.length; i++) {
+            String after = Cursors.encode(ScrollPosition.forward(Map.of("isbn", BenchmarkData.isbn(i))));
+            requests[i] = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/books?size=20&after=" + after))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[clientCount][];
+        int[] counts = new int[clientCount];
+        AtomicLong errors = new AtomicLong();
+        AtomicLong shed = new AtomicLong();
+
+        List<Thread> threads = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            int index = i;
+            threads.add(Thread.ofVirtual().start(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 503) {
+                            shed.incrementAndGet();
+                            continue;
+                        }
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                latencies[index] = samples;
+                counts[index] = count;
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        client.close();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < clientCount; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("clients", clientCount);
+        row.put("seconds", seconds);
+        row.put("requests", total);
+        row.put("errors", errors.get());
+        row.put("shed", shed.get());
+        row.put("throughputPerSecond", (double) total / seconds);
+        row.put("p50Ms", percentile(all, 0.50));
+        row.put("p99Ms", percentile(all, 0.99));
+        return row;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+}
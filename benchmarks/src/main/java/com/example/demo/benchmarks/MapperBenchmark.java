@@ -0,0 +1,88 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.config.MapperConfig;
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.mappers.Mapper;
+import com.example.demo.mappers.impl.AuthorMapperImpl;
+import com.example.demo.mappers.impl.BookMapper;
+import com.example.demo.mappers.impl.DirectAuthorMapper;
+import com.example.demo.mappers.impl.DirectBookMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"direct", "modelmapper"})
+    public String implementation;
+
+    private Mapper<AuthorEntity, AuthorDto> authorMapper;
+
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    private AuthorEntity authorEntity;
+
+    private AuthorDto authorDto;
+
+    private BookEntity bookEntity;
+
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        if (implementation.equals("modelmapper")) {
+            ModelMapper modelMapper = new MapperConfig().modelMapper();
+            authorMapper = new AuthorMapperImpl(modelMapper);
+            bookMapper = new BookMapper(modelMapper);
+        } else {
+            authorMapper = new DirectAuthorMapper();
+            bookMapper = new DirectBookMapper(authorMapper);
+        }
+
+        authorEntity = BenchmarkData.author(1L);
+        authorDto = authorMapper.mapTo(authorEntity);
+        bookEntity = BenchmarkData.book(1, authorEntity);
+        bookDto = bookMapper.mapTo(bookEntity);
+    }
+
+    @Benchmark
+    public AuthorDto authorMapTo() {
+        return authorMapper.mapTo(authorEntity);
+    }
+
+    @Benchmark
+    public AuthorEntity authorMapFrom() {
+        return authorMapper.mapFrom(authorDto);
+    }
+
+    @Benchmark
+    public BookDto bookMapTo() {
+        return bookMapper.mapTo(bookEntity);
+    }
+
+    @Benchmark
+    public BookEntity bookMapFrom() {
+        return bookMapper.mapFrom(bookDto);
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.dto.CursorPageDto;
+import com.example.demo.pagination.Cursors;
+import com.example.demo.serialization.DtoSerializationModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Serialization of book pages with Jackson's bean serializers ({@code beanMapper}) and with the hand-written
+ * serializers of {@link DtoSerializationModule} ({@code dtoMapper}), which the application registers. Compare
+ * allocation per page with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper beanMapper;
+
+    private ObjectMapper dtoMapper;
+
+    private Page<BookDto> page;
+
+    private List<BookDto> cursorRows;
+
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        beanMapper = JsonMapper.builder().build();
+        dtoMapper = JsonMapper.builder().addModule(new DtoSerializationModule()).build();
+        page = new PageImpl<>(BenchmarkData.bookDtos(pageSize), PageRequest.of(0, pageSize), 1_000_000);
+        cursorRows = BenchmarkData.bookDtos(pageSize + 1);
+        bookDto = BenchmarkData.bookDto(1);
+    }
+
+    @Benchmark
+    public byte[] bookPage() {
+        return beanMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public void bookPageToStream() {
+        beanMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @Benchmark
+    public void bookPageToStreamWithDtoSerializers() {
+        dtoMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @Benchmark
+    public void cursorPageResponse() {
+        CursorPageDto<BookDto> cursorPage = Cursors.page(cursorRows, pageSize, book -> Map.of("isbn", book.getIsbn()), Function.identity());
+        beanMapper.writeValue(OutputStream.nullOutputStream(), cursorPage);
+    }
+
+    @Benchmark
+    public void cursorPageResponseWithDtoSerializers() {
+        CursorPageDto<BookDto> cursorPage = Cursors.page(cursorRows, pageSize, book -> Map.of("isbn", book.getIsbn()));
+        dtoMapper.writeValue(OutputStream.nullOutputStream(), cursorPage);
+    }
+
+    @Benchmark
+    public byte[] book() {
+        return beanMapper.writeValueAsBytes(bookDto);
+    }
+
+}
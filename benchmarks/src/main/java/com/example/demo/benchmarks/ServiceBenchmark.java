@@ -0,0 +1,147 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.services.AuthorService;
+import com.example.demo.services.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int AUTHORS = 100;
+
+    private static final int BATCH = 500;
+
+    @Param({"10000"})
+    public int books;
+
+    private ConfigurableApplicationContext context;
+
+    private BookService bookService;
+
+    private AuthorService authorService;
+
+    private long[] authorIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("services");
+        bookService = context.getBean(BookService.class);
+        authorService = context.getBean(AuthorService.class);
+
+        authorIds = new long[AUTHORS];
+        for (int i = 0; i < AUTHORS; i++) {
+            AuthorEntity authorEntity = BenchmarkData.author(i);
+            authorEntity.setId(null);
+            authorIds[i] = authorService.save(authorEntity).getId();
+        }
+
+        for (int i = 0; i < books; i++) {
+            AuthorEntity authorEntity = authorService.findOne(authorIds[i % AUTHORS]).orElseThrow();
+            BookEntity bookEntity = BenchmarkData.book(i, authorEntity);
+            bookService.upsert(bookEntity.getIsbn(), bookEntity);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<BookEntity> bookFindOne() {
+        return bookService.findOne(BenchmarkData.isbn(ThreadLocalRandom.current().nextInt(books)));
+    }
+
+    @Benchmark
+    public Page<BookDto> bookFindAllPage() {
+        int lastPage = books / 20 - 1;
+        return bookService.findAll(PageRequest.of(ThreadLocalRandom.current().nextInt(lastPage), 20));
+    }
+
+    @Benchmark
+    public Page<BookDto> bookFindAllDeepPage() {
+        return bookService.findAll(PageRequest.of(books / 20 - 1, 20));
+    }
+
+    @Benchmark
+    public List<BookDto> bookFindAllAfterCursor() {
+        String after = BenchmarkData.isbn(ThreadLocalRandom.current().nextInt(books - 20));
+        return bookService.findAll(ScrollPosition.forward(Map.of("isbn", after)), Sort.by("isbn"), 20);
+    }
+
+    @Benchmark
+    public BookEntity bookPartialUpdate() {
+        BookEntity bookEntity = BookEntity.builder().title("Updated " + System.nanoTime()).build();
+        return bookService.partialUpdate(BenchmarkData.isbn(ThreadLocalRandom.current().nextInt(books)), bookEntity, null).orElseThrow();
+    }
+
+    @Benchmark
+    public Optional<AuthorEntity> authorFindOne() {
+        return authorService.findOne(authorIds[ThreadLocalRandom.current().nextInt(AUTHORS)]);
+    }
+
+    @Benchmark
+    public List<AuthorEntity> authorFindAll() {
+        return authorService.findAll();
+    }
+
+    @Benchmark
+    public AuthorEntity authorPartialUpdate() {
+        AuthorEntity authorEntity = AuthorEntity.builder().age(ThreadLocalRandom.current().nextInt(20, 90)).build();
+        return authorService.partialUpdate(authorIds[ThreadLocalRandom.current().nextInt(AUTHORS)], authorEntity, null).orElseThrow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public AuthorEntity authorSave() {
+        AuthorEntity saved = null;
+        for (int i = 0; i < BATCH; i++) {
+            saved = authorService.save(AuthorEntity.builder().name("Benchmark Author").age(33).build());
+        }
+        return saved;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<AuthorEntity> authorSaveAll() {
+        List<AuthorEntity> authorEntities = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            authorEntities.add(AuthorEntity.builder().name("Benchmark Author").age(33).build());
+        }
+        return authorService.saveAll(authorEntities);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.domain.dto.BookTitleDto;
+import com.example.demo.search.TitleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TitleIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+
+    @Param({"1000000"})
+    public int titles;
+
+    private TitleIndex index;
+
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 3 + random.nextInt(7); word.length() < length; ) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+
+        index = new TitleIndex();
+        for (int i = 0; i < titles; i++) {
+            StringBuilder title = new StringBuilder("The");
+            for (int count = 2 + random.nextInt(4); count > 0; count--) {
+                title.append(' ').append(word(random));
+            }
+            index.put(BenchmarkData.isbn(i), title.toString());
+        }
+    }
+
+    @Benchmark
+    public List<BookTitleDto> searchCommonAndRareToken() {
+        return index.search("the " + randomWord(), 20);
+    }
+
+    @Benchmark
+    public List<BookTitleDto> searchTwoRareTokens() {
+        return index.search(randomWord() + " " + randomWord(), 20);
+    }
+
+    @Benchmark
+    public List<BookTitleDto> suggestShortPrefix() {
+        return index.suggest(randomWord().substring(0, 2), 10);
+    }
+
+    @Benchmark
+    public List<BookTitleDto> suggestAfterCompleteToken() {
+        return index.suggest("the " + randomWord().substring(0, 3), 10);
+    }
+
+    private String randomWord() {
+        return word(ThreadLocalRandom.current());
+    }
+
+    // Skews towards low indexes so that some words are common, as in real titles.
+    private String word(Random random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return words[(int) (skewed * VOCABULARY)];
+    }
+
+}
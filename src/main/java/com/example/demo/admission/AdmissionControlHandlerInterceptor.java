@@ -0,0 +1,100 @@
+package com.example.demo.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control in front of the database-bound controllers. Each controller class gets its own
+ * {@link AdmissionLimiter}, and every admitted request also takes a permit from one limiter shared by all
+ * controllers and sized to the connection pool, so the controllers together never run more requests than
+ * there are connections. A request that cannot get both permits within the queue timeout, or finds a
+ * queue full, is answered with {@code 503 Service Unavailable} and {@code Retry-After} instead of waiting
+ * for a pooled connection.
+ */
+public class AdmissionControlHandlerInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlHandlerInterceptor.class.getName() + ".permit";
+
+    private static final String SHARED_TAG = "all";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxConcurrent;
+
+    private final int maxQueued;
+
+    private final Duration queueTimeout;
+
+    private final String retryAfter;
+
+    private final Map<Class<?>, AdmissionLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final AdmissionLimiter connections;
+
+    public AdmissionControlHandlerInterceptor(MeterRegistry meterRegistry, int maxConcurrent, int maxConnections,
+                                              int maxQueued, Duration queueTimeout, Duration retryAfter) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.connections = register(SHARED_TAG, new AdmissionLimiter(maxConnections, maxQueued));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException, IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        Class<?> controller = handlerMethod.getBeanType();
+        AdmissionLimiter limiter = limiters.computeIfAbsent(controller,
+                key -> register(key.getSimpleName(), new AdmissionLimiter(maxConcurrent, maxQueued)));
+        long deadline = System.nanoTime() + queueTimeout.toNanos();
+        if (limiter.tryAcquire(queueTimeout)) {
+            if (connections.tryAcquire(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())))) {
+                request.setAttribute(PERMIT_ATTRIBUTE, limiter);
+                return true;
+            }
+            limiter.release();
+        }
+
+        Counter.builder("app.admission.rejected").tag("controller", controller.getSimpleName()).register(meterRegistry).increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdmissionLimiter limiter) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            connections.release();
+            limiter.release();
+        }
+    }
+
+    private AdmissionLimiter register(String controller, AdmissionLimiter limiter) {
+        Gauge.builder("app.admission.active", limiter, AdmissionLimiter::getActive)
+                .tag("controller", controller)
+                .register(meterRegistry);
+        Gauge.builder("app.admission.queued", limiter, AdmissionLimiter::getQueued)
+                .tag("controller", controller)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.demo.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds concurrent requests, letting at most {@code maxQueued} further requests wait for a permit,
+ * each no longer than its timeout.
+ */
+public class AdmissionLimiter {
+
+    private final int maxConcurrent;
+
+    private final int maxQueued;
+
+    private final Semaphore permits;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public AdmissionLimiter(int maxConcurrent, int maxQueued) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public boolean tryAcquire(Duration timeout) throws InterruptedException {
+        // A timed tryAcquire, unlike the untimed one, does not barge ahead of queued requests.
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.example.demo.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load and every caller that
+ * arrives while it is in flight shares its result.
+ *
+ * <p>A caller only joins a load that started after the last committed write. Writes bump a generation
+ * shared by all instances, since a loaded book embeds its author, so a load racing a write is never
+ * handed to callers that arrive after the write has committed.
+ */
+public class SingleFlight<K, V> {
+
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+
+    private final Counter shared;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("app.single-flight.calls").tag("name", name).tag("outcome", "loaded").register(meterRegistry);
+        this.shared = Counter.builder("app.single-flight.calls").tag("name", name).tag("outcome", "shared").register(meterRegistry);
+        meterRegistry.gauge("app.single-flight.shared.ratio", Tags.of("name", name), this,
+                SingleFlight::sharedRatio);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        long generation = GENERATION.get();
+        Flight<V> flight = new Flight<>(generation, new CompletableFuture<>());
+        Flight<V> current = flights.compute(key, (k, existing) ->
+                existing != null && existing.generation() == generation ? existing : flight);
+        if (current != flight) {
+            shared.increment();
+            return current.await();
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.result().complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    public static void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            GENERATION.incrementAndGet();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                GENERATION.incrementAndGet();
+            }
+        });
+    }
+
+    private double sharedRatio() {
+        double total = loads.count() + shared.count();
+        return total == 0 ? 0 : shared.count() / total;
+    }
+
+    private record Flight<V>(long generation, CompletableFuture<V> result) {
+
+        V await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+
+    }
+
+}
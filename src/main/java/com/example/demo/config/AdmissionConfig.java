@@ -0,0 +1,41 @@
+package com.example.demo.config;
+
+import com.example.demo.admission.AdmissionControlHandlerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    private final AdmissionProperties properties;
+
+    private final int maxPoolSize;
+
+    public AdmissionConfig(
+            MeterRegistry meterRegistry,
+            AdmissionProperties properties,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    // The /reactive endpoints do not hold a JDBC connection, and search and suggest are answered from the
+    // in-memory title index; neither is limited.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlHandlerInterceptor(meterRegistry, properties.maxConcurrent(),
+                        maxPoolSize, properties.maxQueued(), properties.queueTimeout(), properties.retryAfter()))
+                .addPathPatterns("/books/**", "/authors/**")
+                .excludePathPatterns("/books/search", "/books/suggest");
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int maxConcurrent,
+        @DefaultValue("100") int maxQueued,
+        @DefaultValue("1s") Duration queueTimeout,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
@@ -0,0 +1,45 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) request and response bodies,
+ * selected by {@code Content-Type} and {@code Accept}. The CBOR mapper is Boot's, configured like the JSON mapper.
+ * Boot has no Smile customizers, so the Smile mapper shares only the {@link JacksonModule}s; it matches the other two
+ * only as long as no {@code spring.jackson.*} property changes the output, which
+ * {@code BookControllerIntegrationTests} checks.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    private final CBORMapper cborMapper;
+
+    private final SmileMapper smileMapper;
+
+    public BinaryFormatsConfig(CBORMapper cborMapper, SmileMapper smileMapper) {
+        this.cborMapper = cborMapper;
+        this.smileMapper = smileMapper;
+    }
+
+    @Bean
+    public static SmileMapper smileMapper(List<JacksonModule> modules) {
+        return SmileMapper.builder().addModules(modules).build();
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.pagination")
+public record PaginationProperties(
+        @DefaultValue("30s") Duration countTtl,
+        @DefaultValue("false") boolean approximateCounts
+) {
+}
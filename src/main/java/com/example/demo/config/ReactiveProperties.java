@@ -0,0 +1,13 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.reactive")
+public record ReactiveProperties(
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maxPoolSize
+) {
+}
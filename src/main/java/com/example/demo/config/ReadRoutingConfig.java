@@ -0,0 +1,99 @@
+package com.example.demo.config;
+
+import com.example.demo.routing.ReadRoutingHandlerInterceptor;
+import com.example.demo.routing.ReplicaCacheModeJpaDialect;
+import com.example.demo.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource-routing", name = "enabled", havingValue = "true")
+public class ReadRoutingConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final ReadRoutingProperties properties;
+
+    private final HikariDataSource primary;
+
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+
+    public ReadRoutingConfig(ReadRoutingProperties properties, DataSourceProperties dataSourceProperties, Environment environment,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReadRoutingProperties.Replica replica = properties.replicas().get(i);
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(replica.url());
+            if (replica.username() != null) {
+                config.setUsername(replica.username());
+                config.setPassword(replica.password());
+            }
+            config.setReadOnly(true);
+            // The primary pool's metrics are bound by Spring Boot through the DataSource bean; replicas are not beans.
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+    }
+
+    // The pools are deliberately not beans: the lazy proxy must be the only DataSource, so that Hibernate, JdbcTemplate
+    // and the transaction manager all share it and a transaction's read-only flag is known before a pool is chosen.
+    @Bean
+    public DataSource dataSource() {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas));
+        return dataSource;
+    }
+
+    // Replaces the dialect after initialization, because JpaTransactionManager takes the EntityManagerFactory's
+    // dialect in afterPropertiesSet.
+    @Bean
+    public static BeanPostProcessor replicaCacheModePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JpaTransactionManager transactionManager) {
+                    transactionManager.setJpaDialect(new ReplicaCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadRoutingHandlerInterceptor(properties.primaryPin()));
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+}
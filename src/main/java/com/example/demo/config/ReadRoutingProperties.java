@@ -0,0 +1,19 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.datasource-routing")
+public record ReadRoutingProperties(
+        boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("2s") Duration primaryPin
+) {
+
+    public record Replica(String url, String username, String password) {
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.example.demo.config;
+
+import com.example.demo.metrics.RequestMetricsDataSource;
+import com.example.demo.metrics.RequestMetricsHandlerInterceptor;
+import com.example.demo.metrics.RequestMetricsHibernateInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.request-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    private final RequestMetricsProperties properties;
+
+    public RequestMetricsConfig(MeterRegistry meterRegistry, RequestMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Bean
+    public static BeanPostProcessor requestMetricsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof RequestMetricsDataSource)
+                        ? new RequestMetricsDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestMetricsHibernateCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new RequestMetricsHibernateInterceptor());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsHandlerInterceptor(meterRegistry, properties.debugHeader()));
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.request-metrics")
+public record RequestMetricsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean debugHeader
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import com.example.demo.serialization.DtoSerializationModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SerializationConfig {
+
+    @Bean
+    public DtoSerializationModule dtoSerializationModule() {
+        return new DtoSerializationModule();
+    }
+
+}
@@ -1,27 +1,78 @@
 package com.example.demo.controllers;
 
 import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BatchItemResultDto;
+import com.example.demo.domain.dto.BatchItemStatus;
+import com.example.demo.domain.dto.BatchResultDto;
+import com.example.demo.domain.dto.CursorPageDto;
+import com.example.demo.domain.dto.DeleteResultDto;
 import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.etag.ETags;
+import com.example.demo.export.CsvColumn;
+import com.example.demo.export.ExportFormat;
+import com.example.demo.export.Exports;
+import com.example.demo.export.RowWriter;
 import com.example.demo.mappers.Mapper;
+import com.example.demo.pagination.Cursors;
+import com.example.demo.serialization.MediaTypes;
 import com.example.demo.services.AuthorService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 public class AuthorController {
 
+    private static final Map<String, Sort> CURSOR_SORTS = Map.of(
+            "id", Sort.by("id")
+    );
+
+    private static final Map<String, Class<?>> CURSOR_KEY_TYPES = Map.of(
+            "id", Long.class
+    );
+
+    private static final Map<String, Class<?>> AGE_CURSOR_KEY_TYPES = Map.of(
+            "age", Integer.class,
+            "id", Long.class
+    );
+
+    private static final List<CsvColumn<AuthorDto>> CSV_COLUMNS = List.of(
+            new CsvColumn<>("id", AuthorDto::getId),
+            new CsvColumn<>("name", AuthorDto::getName),
+            new CsvColumn<>("age", AuthorDto::getAge)
+    );
+
     private final AuthorService authorService;
 
     private final Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+    private final ObjectMapper objectMapper;
+
+    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper, ObjectMapper objectMapper) {
         this.authorService = authorService;
         this.authorMapper = authorMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(path = "/authors")
@@ -31,52 +82,213 @@ public class AuthorController {
         return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.CREATED);
     }
 
-    @GetMapping(path = "/authors")
-    public List<AuthorDto> listAuthors() {
-        List<AuthorEntity> authors = authorService.findAll();
-        return authors.stream()
-                .map(authorMapper::mapTo)
-                .collect(Collectors.toList());
+    @PostMapping(path = "/authors/batch", consumes = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, MediaTypes.APPLICATION_SMILE_VALUE
+    })
+    public BatchResultDto<Long> createAuthors(@RequestBody List<AuthorDto> authors) {
+        return createAuthorBatch(authors);
+    }
+
+    @PostMapping(path = "/authors/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BatchResultDto<Long> createAuthorsFromNdjson(InputStream body) {
+        try (MappingIterator<AuthorDto> authors = objectMapper.readerFor(AuthorDto.class).readValues(body)) {
+            return createAuthorBatch(authors.readAll());
+        } catch (JacksonException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid NDJSON body", e);
+        }
+    }
+
+    @GetMapping(path = "/authors/stream")
+    public void streamAuthors(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            authorService.streamAll(generator::writePOJO);
+            generator.writeEndArray();
+        }
+    }
+
+    @GetMapping(path = "/authors", params = {"!after", "!minAge", "!maxAge"})
+    public Page<AuthorDto> listAuthors(Pageable pageable) {
+        return authorService.findAll(pageable);
+    }
+
+    @GetMapping(path = "/authors", params = {"after", "!minAge", "!maxAge"})
+    public CursorPageDto<AuthorDto> listAuthorsAfter(
+            @RequestParam("after") String after,
+            @RequestParam(value = "size", defaultValue = "" + Cursors.DEFAULT_SIZE) int size,
+            @RequestParam(value = "sort", defaultValue = "id") String sort
+    ) {
+        Sort cursorSort = Cursors.sort(CURSOR_SORTS, sort);
+        int pageSize = Cursors.size(size);
+        List<AuthorDto> authors = authorService.findAll(Cursors.decode(after, cursorSort, CURSOR_KEY_TYPES, Set.of()), pageSize + 1);
+        return Cursors.page(authors, pageSize, author -> Map.of("id", author.getId()));
+    }
+
+    @GetMapping(path = "/authors", params = "minAge")
+    public CursorPageDto<AuthorDto> listAuthorsFromAge(
+            @RequestParam("minAge") int minAge,
+            @RequestParam(value = "maxAge", defaultValue = "" + Integer.MAX_VALUE) int maxAge,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "" + Cursors.DEFAULT_SIZE) int size
+    ) {
+        return listAuthorsByAge(minAge, maxAge, after, size);
+    }
+
+    @GetMapping(path = "/authors", params = {"maxAge", "!minAge"})
+    public CursorPageDto<AuthorDto> listAuthorsUpToAge(
+            @RequestParam("maxAge") int maxAge,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "" + Cursors.DEFAULT_SIZE) int size
+    ) {
+        return listAuthorsByAge(Integer.MIN_VALUE, maxAge, after, size);
+    }
+
+    @GetMapping(path = "/authors/export")
+    public void exportAuthors(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        try (RowWriter<AuthorDto> writer = Exports.open(response, "authors", exportFormat,
+                Exports.acceptsGzip(acceptEncoding), objectMapper, CSV_COLUMNS)) {
+            authorService.streamAll(writer::write);
+        }
     }
 
     @GetMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id) {
+    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id, WebRequest request) {
+        if (ETags.isConditional(request)) {
+            Optional<Long> version = authorService.findVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (request.checkNotModified(ETags.of(version.get()))) {
+                return null;
+            }
+        }
+
         Optional<AuthorEntity> foundAuthor = authorService.findOne(id);
         return foundAuthor.map(authorEntity -> {
             AuthorDto authorDto = authorMapper.mapTo(authorEntity);
-            return new ResponseEntity<>(authorDto, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(ETags.of(authorEntity.getVersion())).body(authorDto);
         }).orElse(
                 new ResponseEntity<>(HttpStatus.NOT_FOUND)
         );
     }
 
     @PutMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto) {
-        if (!authorService.isExists(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto, WebRequest request) {
+        Long expectedVersion = null;
+        if (ETags.isConditional(request)) {
+            Optional<Long> version = authorService.findVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (request.checkNotModified(ETags.of(version.get()))) {
+                return null;
+            }
+            expectedVersion = ETags.hasIfMatch(request) ? version.get() : null;
         }
 
-        authorDto.setId(id);
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity savedAuthorEntity = authorService.save(authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.OK);
+        return authorService.fullUpdate(id, authorEntity, expectedVersion)
+                .map(updatedAuthor -> ResponseEntity.ok().eTag(ETags.of(updatedAuthor.getVersion())).body(authorMapper.mapTo(updatedAuthor)))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @PatchMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> partialUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto) {
-        if (!authorService.isExists(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<AuthorDto> partialUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto, WebRequest request) {
+        Long expectedVersion = null;
+        if (ETags.isConditional(request)) {
+            Optional<Long> version = authorService.findVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (request.checkNotModified(ETags.of(version.get()))) {
+                return null;
+            }
+            expectedVersion = ETags.hasIfMatch(request) ? version.get() : null;
         }
 
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity updatedAuthor = authorService.partialUpdate(id, authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(updatedAuthor), HttpStatus.OK);
+        return authorService.partialUpdate(id, authorEntity, expectedVersion)
+                .map(updatedAuthor -> ResponseEntity.ok().eTag(ETags.of(updatedAuthor.getVersion())).body(authorMapper.mapTo(updatedAuthor)))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping(path = "/authors")
+    public DeleteResultDto deleteAuthors(
+            @RequestBody(required = false) List<Long> ids,
+            @RequestParam(value = "withoutBooks", defaultValue = "false") boolean withoutBooks
+    ) {
+        if ((ids == null) == !withoutBooks) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pass either a list of ids or withoutBooks=true");
+        }
+        try {
+            int deleted = withoutBooks ? authorService.deleteWithoutBooks() : authorService.deleteAll(ids);
+            return DeleteResultDto.builder().deleted(deleted).build();
+        } catch (DataIntegrityViolationException e) {
+            throw authorHasBooks(e);
+        }
     }
 
     @DeleteMapping(path = "/authors/{id}")
     public ResponseEntity deleteAuthor(@PathVariable("id") Long id) {
-        authorService.delete(id);
+        try {
+            authorService.delete(id);
+        } catch (DataIntegrityViolationException e) {
+            throw authorHasBooks(e);
+        }
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    private static ResponseStatusException authorHasBooks(DataIntegrityViolationException e) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Author is still referenced by books", e);
+    }
+
+    private CursorPageDto<AuthorDto> listAuthorsByAge(int minAge, int maxAge, String after, int size) {
+        int pageSize = Cursors.size(size);
+        List<AuthorDto> authors = authorService.findByAgeRange(minAge, maxAge, Cursors.decode(after, AGE_CURSOR_KEY_TYPES), pageSize + 1);
+        return Cursors.page(authors, pageSize, author -> Map.of("age", author.getAge(), "id", author.getId()));
+    }
+
+    private BatchResultDto<Long> createAuthorBatch(List<AuthorDto> authors) {
+        List<BatchItemResultDto<Long>> results = new ArrayList<>(authors.size());
+        List<BatchItemResultDto<Long>> createdResults = new ArrayList<>();
+        List<AuthorEntity> authorEntities = new ArrayList<>();
+
+        for (int i = 0; i < authors.size(); i++) {
+            AuthorDto author = authors.get(i);
+            if (author == null) {
+                results.add(rejected(i, "Author is missing"));
+            } else if (author.getId() != null) {
+                results.add(rejected(i, "Author id is assigned by the server"));
+            } else {
+                BatchItemResultDto<Long> result = BatchItemResultDto.<Long>builder()
+                        .index(i)
+                        .status(BatchItemStatus.CREATED)
+                        .build();
+                results.add(result);
+                createdResults.add(result);
+                authorEntities.add(authorMapper.mapFrom(author));
+            }
+        }
+
+        List<AuthorEntity> savedAuthors = authorService.saveAll(authorEntities);
+        for (int i = 0; i < savedAuthors.size(); i++) {
+            createdResults.get(i).setId(savedAuthors.get(i).getId());
+        }
+        return BatchResultDto.of(results);
+    }
+
+    private static BatchItemResultDto<Long> rejected(int index, String error) {
+        return BatchItemResultDto.<Long>builder()
+                .index(index)
+                .status(BatchItemStatus.REJECTED)
+                .error(error)
+                .build();
+    }
+
 }
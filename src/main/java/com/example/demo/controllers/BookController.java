@@ -1,80 +1,313 @@
 package com.example.demo.controllers;
 
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BatchItemResultDto;
+import com.example.demo.domain.dto.BatchItemStatus;
+import com.example.demo.domain.dto.BatchResultDto;
 import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.dto.BookTitleDto;
+import com.example.demo.domain.dto.CursorPageDto;
+import com.example.demo.domain.dto.DeleteResultDto;
 import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.etag.ETags;
+import com.example.demo.export.CsvColumn;
+import com.example.demo.export.ExportFormat;
+import com.example.demo.export.Exports;
+import com.example.demo.export.RowWriter;
 import com.example.demo.mappers.Mapper;
+import com.example.demo.pagination.Cursors;
+import com.example.demo.repositories.BookVersion;
+import com.example.demo.services.AuthorService;
 import com.example.demo.services.BookService;
-import org.springframework.data.domain.Page;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 public class BookController {
 
+    private static final Map<String, Sort> CURSOR_SORTS = Map.of(
+            "isbn", Sort.by("isbn"),
+            "title", Sort.by("title", "isbn")
+    );
+
+    private static final Map<String, Class<?>> CURSOR_KEY_TYPES = Map.of(
+            "isbn", String.class,
+            "title", String.class
+    );
+
+    // Untitled books sort after titled ones, so a cursor may point at a book without a title.
+    private static final Set<String> NULLABLE_CURSOR_KEYS = Set.of("title");
+
+    private static final List<CsvColumn<BookDto>> CSV_COLUMNS = List.of(
+            new CsvColumn<>("isbn", BookDto::getIsbn),
+            new CsvColumn<>("title", BookDto::getTitle),
+            new CsvColumn<>("author_id", book -> book.getAuthor() == null ? null : book.getAuthor().getId()),
+            new CsvColumn<>("author_name", book -> book.getAuthor() == null ? null : book.getAuthor().getName()),
+            new CsvColumn<>("author_age", book -> book.getAuthor() == null ? null : book.getAuthor().getAge())
+    );
+
     private final Mapper<BookEntity, BookDto> bookMapper;
 
     private final BookService bookService;
 
-    public BookController(Mapper<BookEntity, BookDto> bookMapper, BookService bookService) {
+    private final AuthorService authorService;
+
+    private final ObjectMapper objectMapper;
+
+    public BookController(
+            Mapper<BookEntity, BookDto> bookMapper,
+            BookService bookService,
+            AuthorService authorService,
+            ObjectMapper objectMapper
+    ) {
         this.bookMapper = bookMapper;
         this.bookService = bookService;
+        this.authorService = authorService;
+        this.objectMapper = objectMapper;
     }
 
     @PutMapping("/books/{isbn}")
     public ResponseEntity<BookDto> createUpdateBook(
             @PathVariable("isbn") String isbn,
-            @RequestBody BookDto bookDto
+            @RequestBody BookDto bookDto,
+            @RequestParam(value = "createAuthors", defaultValue = "false") boolean createAuthors,
+            WebRequest request
     ) {
+        if (!createAuthors && bookDto.getAuthor() != null && bookDto.getAuthor().getId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Author id is missing; pass createAuthors=true to create the author");
+        }
+
+        Optional<BookVersion> version = Optional.empty();
+        if (ETags.isConditional(request)) {
+            version = bookService.findVersion(isbn);
+            if (version.isEmpty() && ETags.hasIfMatch(request)) {
+                return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+            }
+            if (version.isPresent() && request.checkNotModified(eTag(version.get()))) {
+                return null;
+            }
+        }
+
         BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        boolean bookExists = bookService.isExists(isbn);
-        BookEntity savedBookEntity = bookService.createUpdateBook(isbn, bookEntity);
-        BookDto savedBookDto = bookMapper.mapTo(savedBookEntity);
-
-        if (bookExists) {
-            return new  ResponseEntity<>(savedBookDto, HttpStatus.OK);
-        } else {
-            return new  ResponseEntity<>(savedBookDto, HttpStatus.CREATED);
+        boolean created;
+        try {
+            if (ETags.hasIfMatch(request)) {
+                if (!bookService.update(isbn, bookEntity, version.get().version())) {
+                    return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+                }
+                created = false;
+            } else {
+                created = bookService.upsert(isbn, bookEntity);
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Book references an unknown author or has invalid fields", e);
+        }
+
+        HttpStatus status = created ? HttpStatus.CREATED : HttpStatus.OK;
+        return bookService.findOne(isbn)
+                .map(savedBook -> ResponseEntity.status(status).eTag(eTag(savedBook)).body(bookMapper.mapTo(savedBook)))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PutMapping("/books")
+    public BatchResultDto<String> upsertBooks(
+            @RequestBody List<BookDto> books,
+            @RequestParam(value = "createAuthors", defaultValue = "false") boolean createAuthors
+    ) {
+        List<BatchItemResultDto<String>> results = new ArrayList<>(books.size());
+        Set<String> isbns = new HashSet<>();
+        for (int i = 0; i < books.size(); i++) {
+            BookDto book = books.get(i);
+            if (book == null) {
+                results.add(rejected(i, null, "Book is missing"));
+            } else if (book.getIsbn() == null || book.getIsbn().isBlank()) {
+                results.add(rejected(i, null, "Book isbn is missing"));
+            } else if (!isbns.add(book.getIsbn())) {
+                results.add(rejected(i, book.getIsbn(), "Duplicate isbn in request"));
+            } else if (!createAuthors && book.getAuthor() != null && book.getAuthor().getId() == null) {
+                results.add(rejected(i, book.getIsbn(), "Author id is missing"));
+            } else {
+                results.add(BatchItemResultDto.<String>builder().index(i).id(book.getIsbn()).build());
+            }
+        }
+
+        Set<Long> authorIds = new HashSet<>();
+        results.stream()
+                .filter(result -> result.getStatus() == null)
+                .map(result -> books.get(result.getIndex()).getAuthor())
+                .filter(author -> author != null && author.getId() != null)
+                .forEach(author -> authorIds.add(author.getId()));
+        Set<Long> existingAuthorIds = authorService.findExistingIds(authorIds);
+
+        List<BookEntity> bookEntities = new ArrayList<>();
+        for (BatchItemResultDto<String> result : results) {
+            if (result.getStatus() != null) {
+                continue;
+            }
+            AuthorDto author = books.get(result.getIndex()).getAuthor();
+            if (author != null && author.getId() != null && !existingAuthorIds.contains(author.getId())) {
+                result.setStatus(BatchItemStatus.REJECTED);
+                result.setError("Unknown author id " + author.getId());
+            } else {
+                bookEntities.add(bookMapper.mapFrom(books.get(result.getIndex())));
+            }
         }
+
+        Set<String> created = bookService.upsertAll(bookEntities);
+        results.stream()
+                .filter(result -> result.getStatus() == null)
+                .forEach(result -> result.setStatus(created.contains(result.getId())
+                        ? BatchItemStatus.CREATED
+                        : BatchItemStatus.UPDATED));
+        return BatchResultDto.of(results);
     }
 
     @PatchMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> partialUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto) {
-        if (!bookService.isExists(isbn)) {
-            return new  ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<BookDto> partialUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto, WebRequest request) {
+        Long expectedVersion = null;
+        if (ETags.isConditional(request)) {
+            Optional<BookVersion> version = bookService.findVersion(isbn);
+            if (version.isEmpty()) {
+                return new  ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (request.checkNotModified(eTag(version.get()))) {
+                return null;
+            }
+            expectedVersion = ETags.hasIfMatch(request) ? version.get().version() : null;
         }
 
         BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        BookEntity updatedBookEntity = bookService.partialUpdate(isbn, bookEntity);
-        return new ResponseEntity<>(
-                bookMapper.mapTo(updatedBookEntity), HttpStatus.OK
-        );
+        return bookService.partialUpdate(isbn, bookEntity, expectedVersion)
+                .map(updatedBookEntity -> ResponseEntity.ok().eTag(eTag(updatedBookEntity)).body(bookMapper.mapTo(updatedBookEntity)))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping(path = "/books")
-    public Page<BookDto> listBooks(Pageable pageable) {
-        Page<BookEntity> books = bookService.findAll(pageable);
-        return books.map(bookMapper::mapTo);
+    public Slice<BookDto> listBooks(
+            Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "true") boolean count
+    ) {
+        return count ? bookService.findAll(pageable) : bookService.findSlice(pageable);
+    }
+
+    @GetMapping(path = "/books", params = "after")
+    public CursorPageDto<BookDto> listBooksAfter(
+            @RequestParam("after") String after,
+            @RequestParam(value = "size", defaultValue = "" + Cursors.DEFAULT_SIZE) int size,
+            @RequestParam(value = "sort", defaultValue = "isbn") String sort
+    ) {
+        Sort cursorSort = Cursors.sort(CURSOR_SORTS, sort);
+        int pageSize = Cursors.size(size);
+        List<BookDto> books = bookService.findAll(Cursors.decode(after, cursorSort, CURSOR_KEY_TYPES, NULLABLE_CURSOR_KEYS), cursorSort, pageSize + 1);
+        return Cursors.page(books, pageSize, book -> cursorKeys(cursorSort, book));
+    }
+
+    @GetMapping(path = "/books/search")
+    public List<BookTitleDto> searchBooks(
+            @RequestParam("q") String query,
+            @RequestParam(value = "size", defaultValue = "" + Cursors.DEFAULT_SIZE) int size
+    ) {
+        return bookService.search(query, Cursors.size(size));
+    }
+
+    @GetMapping(path = "/books/suggest")
+    public List<BookTitleDto> suggestBooks(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        return bookService.suggest(prefix, Cursors.size(size));
+    }
+
+    @GetMapping(path = "/books/export")
+    public void exportBooks(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        try (RowWriter<BookDto> writer = Exports.open(response, "books", exportFormat,
+                Exports.acceptsGzip(acceptEncoding), objectMapper, CSV_COLUMNS)) {
+            bookService.streamAll(writer::write);
+        }
     }
 
     @GetMapping(path = "/books/{isbn}")
-    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn) {
+    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn, WebRequest request) {
+        if (ETags.isConditional(request)) {
+            Optional<BookVersion> version = bookService.findVersion(isbn);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (request.checkNotModified(eTag(version.get()))) {
+                return null;
+            }
+        }
+
         Optional<BookEntity> foundBook = bookService.findOne(isbn);
         return foundBook.map(bookEntity -> {
             BookDto bookDto = bookMapper.mapTo(bookEntity);
-            return new ResponseEntity<>(bookDto, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(eTag(bookEntity)).body(bookDto);
         }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @DeleteMapping(path = "/books")
+    public DeleteResultDto deleteBooks(
+            @RequestBody(required = false) List<String> isbns,
+            @RequestParam(value = "authorId", required = false) Long authorId
+    ) {
+        if ((isbns == null) == (authorId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pass either a list of ISBNs or an authorId");
+        }
+        int deleted = authorId != null ? bookService.deleteByAuthor(authorId) : bookService.deleteAll(isbns);
+        return DeleteResultDto.builder().deleted(deleted).build();
+    }
+
     @DeleteMapping(path = "/books/{isbn}")
     public ResponseEntity deleteBook(@PathVariable("isbn") String isbn){
         bookService.delete(isbn);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    private static BatchItemResultDto<String> rejected(int index, String isbn, String error) {
+        return BatchItemResultDto.<String>builder()
+                .index(index)
+                .id(isbn)
+                .status(BatchItemStatus.REJECTED)
+                .error(error)
+                .build();
+    }
+
+    private static Map<String, Object> cursorKeys(Sort sort, BookDto book) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        sort.forEach(order -> keys.put(order.getProperty(), order.getProperty().equals("title") ? book.getTitle() : book.getIsbn()));
+        return keys;
+    }
+
+    private static String eTag(BookVersion version) {
+        return ETags.of(version.version(), version.authorVersion());
+    }
+
+    private static String eTag(BookEntity book) {
+        return ETags.of(book.getVersion(), book.getAuthorEntity() == null ? null : book.getAuthorEntity().getVersion());
+    }
+
 }
@@ -0,0 +1,20 @@
+package com.example.demo.controllers;
+
+import com.example.demo.etag.ETags;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+@RestControllerAdvice
+public class OptimisticLockingExceptionHandler {
+
+    // Only a failed If-Match is a failed precondition; a concurrent write the client did not guard against is a conflict.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleOptimisticLockingFailure(WebRequest request) {
+        return new ResponseEntity<>(ETags.hasIfMatch(request) ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.demo.controllers;
+
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.CursorPageDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.mappers.Mapper;
+import com.example.demo.pagination.Cursors;
+import com.example.demo.services.ReactiveAuthorService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/reactive")
+@ConditionalOnProperty(prefix = "app.reactive", name = "url")
+public class ReactiveAuthorController {
+
+    private static final Map<String, Class<?>> CURSOR_KEY_TYPES = Map.of(
+            "id", Long.class
+    );
+
+    private final ReactiveAuthorService authorService;
+
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+
+    public ReactiveAuthorController(ReactiveAuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.authorService = authorService;
+        this.authorMapper = authorMapper;
+    }
+
+    @GetMapping(path = "/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> getAuthor(@PathVariable("id") Long id) {
+        return authorService.findOne(id)
+                .map(authorEntity -> ResponseEntity.ok(authorMapper.mapTo(authorEntity)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(path = "/authors")
+    public Mono<CursorPageDto<AuthorDto>> listAuthors(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "" + Cursors.DEFAULT_SIZE) int size
+    ) {
+        Long afterId = (Long) Cursors.decode(after, CURSOR_KEY_TYPES).getKeys().get("id");
+        int pageSize = Cursors.size(size);
+        return authorService.findAll(afterId, pageSize + 1)
+                .collectList()
+                .map(authors -> Cursors.page(authors, pageSize, authorEntity -> Map.of("id", authorEntity.getId()), authorMapper::mapTo));
+    }
+
+    @GetMapping(path = "/authors/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AuthorDto> streamAuthors() {
+        return authorService.streamAll().map(authorMapper::mapTo);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.demo.controllers;
+
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.dto.CursorPageDto;
+import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.mappers.Mapper;
+import com.example.demo.pagination.Cursors;
+import com.example.demo.services.ReactiveBookService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/reactive")
+@ConditionalOnProperty(prefix = "app.reactive", name = "url")
+public class ReactiveBookController {
+
+    private static final Map<String, Class<?>> CURSOR_KEY_TYPES = Map.of(
+            "isbn", String.class
+    );
+
+    private final ReactiveBookService bookService;
+
+    private final Mapper<BookEntity, BookDto> bookMapper;
+
+    public ReactiveBookController(ReactiveBookService bookService, Mapper<BookEntity, BookDto> bookMapper) {
+        this.bookService = bookService;
+        this.bookMapper = bookMapper;
+    }
+
+    @GetMapping(path = "/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> getBook(@PathVariable("isbn") String isbn) {
+        return bookService.findOne(isbn)
+                .map(bookEntity -> ResponseEntity.ok(bookMapper.mapTo(bookEntity)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(path = "/books")
+    public Mono<CursorPageDto<BookDto>> listBooks(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "" + Cursors.DEFAULT_SIZE) int size
+    ) {
+        String afterIsbn = (String) Cursors.decode(after, CURSOR_KEY_TYPES).getKeys().get("isbn");
+        int pageSize = Cursors.size(size);
+        return bookService.findAll(afterIsbn, pageSize + 1)
+                .collectList()
+                .map(books -> Cursors.page(books, pageSize, bookEntity -> Map.of("isbn", bookEntity.getIsbn()), bookMapper::mapTo));
+    }
+
+    @GetMapping(path = "/books/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> streamBooks() {
+        return bookService.streamAll().map(bookMapper::mapTo);
+    }
+
+}
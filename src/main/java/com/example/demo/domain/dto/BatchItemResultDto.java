@@ -0,0 +1,22 @@
+package com.example.demo.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemResultDto<K> {
+
+    private int index;
+
+    private K id;
+
+    private BatchItemStatus status;
+
+    private String error;
+
+}
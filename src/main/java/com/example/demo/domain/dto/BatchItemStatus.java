@@ -0,0 +1,11 @@
+package com.example.demo.domain.dto;
+
+public enum BatchItemStatus {
+
+    CREATED,
+
+    UPDATED,
+
+    REJECTED
+
+}
@@ -0,0 +1,37 @@
+package com.example.demo.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResultDto<K> {
+
+    private int created;
+
+    private int updated;
+
+    private int rejected;
+
+    private List<BatchItemResultDto<K>> items;
+
+    public static <K> BatchResultDto<K> of(List<BatchItemResultDto<K>> items) {
+        return BatchResultDto.<K>builder()
+                .created(count(items, BatchItemStatus.CREATED))
+                .updated(count(items, BatchItemStatus.UPDATED))
+                .rejected(count(items, BatchItemStatus.REJECTED))
+                .items(items)
+                .build();
+    }
+
+    private static int count(List<? extends BatchItemResultDto<?>> items, BatchItemStatus status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.example.demo.domain.dto;
 
-import com.example.demo.domain.entities.AuthorEntity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,4 +17,8 @@ public class BookDto {
 
     private AuthorDto author;
 
+    public BookDto(String isbn, String title, Long authorId, String authorName, Integer authorAge) {
+        this(isbn, title, authorId == null ? null : new AuthorDto(authorId, authorName, authorAge));
+    }
+
 }
@@ -0,0 +1,18 @@
+package com.example.demo.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookTitleDto {
+
+    private String isbn;
+
+    private String title;
+
+}
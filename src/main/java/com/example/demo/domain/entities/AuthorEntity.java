@@ -5,21 +5,30 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "authors")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+@Table(name = "authors", indexes = @Index(name = "idx_authors_age_id", columnList = "age, id"))
 public class AuthorEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_seq")
+    @SequenceGenerator(name = "author_id_seq", sequenceName = "author_id_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
     private Integer age;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
 }
\ No newline at end of file
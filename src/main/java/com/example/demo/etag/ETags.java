@@ -0,0 +1,26 @@
+package com.example.demo.etag;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+public final class ETags {
+
+    private ETags() {}
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(long version, Long dependentVersion) {
+        return dependentVersion == null ? of(version) : "\"" + version + "." + dependentVersion + "\"";
+    }
+
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_MATCH) != null || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    public static boolean hasIfMatch(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_MATCH) != null;
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.example.demo.export;
+
+import java.util.function.Function;
+
+public record CsvColumn<T>(String header, Function<T, Object> value) {
+}
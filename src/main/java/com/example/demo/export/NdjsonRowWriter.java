@@ -0,0 +1,29 @@
+package com.example.demo.export;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+
+public class NdjsonRowWriter<T> implements RowWriter<T> {
+
+    private final JsonGenerator generator;
+
+    public NdjsonRowWriter(OutputStream outputStream, ObjectMapper objectMapper) {
+        this.generator = objectMapper.writer()
+                .withRootValueSeparator((String) null)
+                .createGenerator(outputStream);
+    }
+
+    @Override
+    public void write(T row) {
+        generator.writePOJO(row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() {
+        generator.close();
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.demo.export;
+
+import java.io.Closeable;
+
+public interface RowWriter<T> extends Closeable {
+
+    void write(T row);
+
+}
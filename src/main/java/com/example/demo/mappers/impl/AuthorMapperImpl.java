@@ -4,9 +4,11 @@ import com.example.demo.domain.dto.AuthorDto;
 import com.example.demo.domain.entities.AuthorEntity;
 import com.example.demo.mappers.Mapper;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(prefix = "app.mappers", name = "author", havingValue = "modelmapper")
 public class AuthorMapperImpl implements Mapper<AuthorEntity, AuthorDto> {
 
     private ModelMapper modelMapper;
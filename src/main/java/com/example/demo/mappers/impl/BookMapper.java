@@ -4,9 +4,11 @@ import com.example.demo.domain.dto.BookDto;
 import com.example.demo.domain.entities.BookEntity;
 import com.example.demo.mappers.Mapper;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(prefix = "app.mappers", name = "book", havingValue = "modelmapper")
 public class BookMapper implements Mapper<BookEntity, BookDto> {
 
     private ModelMapper modelMapper;
@@ -0,0 +1,38 @@
+package com.example.demo.mappers.impl;
+
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.mappers.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "app.mappers", name = "author", havingValue = "direct", matchIfMissing = true)
+public class DirectAuthorMapper implements Mapper<AuthorEntity, AuthorDto> {
+
+    @Override
+    public AuthorDto mapTo(AuthorEntity authorEntity) {
+        if (authorEntity == null) {
+            return null;
+        }
+
+        return AuthorDto.builder()
+                .id(authorEntity.getId())
+                .name(authorEntity.getName())
+                .age(authorEntity.getAge())
+                .build();
+    }
+
+    @Override
+    public AuthorEntity mapFrom(AuthorDto authorDto) {
+        if (authorDto == null) {
+            return null;
+        }
+
+        return AuthorEntity.builder()
+                .id(authorDto.getId())
+                .name(authorDto.getName())
+                .age(authorDto.getAge())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.mappers.impl;
+
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.mappers.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "app.mappers", name = "book", havingValue = "direct", matchIfMissing = true)
+public class DirectBookMapper implements Mapper<BookEntity, BookDto> {
+
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+
+    public DirectBookMapper(Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.authorMapper = authorMapper;
+    }
+
+    @Override
+    public BookDto mapTo(BookEntity book) {
+        if (book == null) {
+            return null;
+        }
+
+        return BookDto.builder()
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .author(book.getAuthorEntity() == null ? null : authorMapper.mapTo(book.getAuthorEntity()))
+                .build();
+    }
+
+    @Override
+    public BookEntity mapFrom(BookDto bookDto) {
+        if (bookDto == null) {
+            return null;
+        }
+
+        return BookEntity.builder()
+                .isbn(bookDto.getIsbn())
+                .title(bookDto.getTitle())
+                .authorEntity(bookDto.getAuthor() == null ? null : authorMapper.mapFrom(bookDto.getAuthor()))
+                .build();
+    }
+}
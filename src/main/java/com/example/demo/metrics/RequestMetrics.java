@@ -0,0 +1,101 @@
+package com.example.demo.metrics;
+
+import java.util.Locale;
+
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    private long handlerEndNanos;
+
+    private long statements;
+
+    private long rows;
+
+    private long entityLoads;
+
+    private long flushes;
+
+    private long jdbcNanos;
+
+    private RequestMetrics() {}
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static RequestMetrics begin() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static RequestMetrics end() {
+        RequestMetrics metrics = CURRENT.get();
+        CURRENT.remove();
+        return metrics;
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void rowFetched(boolean fetched, long nanos) {
+        if (fetched) {
+            rows++;
+        }
+        jdbcNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void flushed() {
+        flushes++;
+    }
+
+    void handlerCompleted() {
+        if (handlerEndNanos == 0) {
+            handlerEndNanos = System.nanoTime();
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public long getMappingNanos() {
+        long handlerEnd = handlerEndNanos == 0 ? System.nanoTime() : handlerEndNanos;
+        return Math.max(0, handlerEnd - startNanos - jdbcNanos);
+    }
+
+    public long getSerializationNanos() {
+        return handlerEndNanos == 0 ? 0 : System.nanoTime() - handlerEndNanos;
+    }
+
+    String toHeaderValue() {
+        return String.format(Locale.ROOT, "statements=%d; rows=%d; entity-loads=%d; flushes=%d; jdbc-ms=%.3f; mapping-ms=%.3f",
+                statements, rows, entityLoads, flushes, jdbcNanos / 1e6, getMappingNanos() / 1e6);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.example.demo.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class RequestMetricsDataSource extends DelegatingDataSource {
+
+    public RequestMetricsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(RequestMetricsDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> invoke(target, method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        RequestMetrics metrics = RequestMetrics.current();
+        boolean execute = target instanceof Statement && method.getName().startsWith("execute");
+        boolean next = target instanceof ResultSet && method.getName().equals("next");
+        long start = metrics != null && (execute || next) ? System.nanoTime() : 0;
+
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            if (start != 0 && execute) {
+                metrics.statementExecuted(System.nanoTime() - start);
+            }
+        }
+        if (start != 0 && next) {
+            metrics.rowFetched((Boolean) result, System.nanoTime() - start);
+        }
+
+        if (result instanceof CallableStatement statement) {
+            return wrap(CallableStatement.class, statement);
+        } else if (result instanceof PreparedStatement statement) {
+            return wrap(PreparedStatement.class, statement);
+        } else if (result instanceof Statement statement) {
+            return wrap(Statement.class, statement);
+        } else if (result instanceof ResultSet resultSet && !(target instanceof ResultSet)) {
+            return wrap(ResultSet.class, resultSet);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+public class RequestMetricsHandlerInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String DEBUG_HEADER = "X-Request-Metrics";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean debugHeader;
+
+    public RequestMetricsHandlerInterceptor(MeterRegistry meterRegistry, boolean debugHeader) {
+        this.meterRegistry = meterRegistry;
+        this.debugHeader = debugHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics.begin();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.handlerCompleted();
+            writeDebugHeader(response, metrics);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestMetrics metrics = RequestMetrics.end();
+        if (metrics == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+        summary("app.requests.sql.statements", tags, metrics.getStatements());
+        summary("app.requests.sql.rows", tags, metrics.getRows());
+        summary("app.requests.entity.loads", tags, metrics.getEntityLoads());
+        summary("app.requests.flushes", tags, metrics.getFlushes());
+        timer(tags.and("phase", "jdbc"), metrics.getJdbcNanos());
+        timer(tags.and("phase", "mapping"), metrics.getMappingNanos());
+        timer(tags.and("phase", "serialization"), metrics.getSerializationNanos());
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics.end();
+    }
+
+    private void writeDebugHeader(HttpServletResponse response, RequestMetrics metrics) {
+        if (debugHeader && !response.isCommitted() && !response.containsHeader(DEBUG_HEADER)) {
+            response.setHeader(DEBUG_HEADER, metrics.toHeaderValue());
+        }
+    }
+
+    private void summary(String name, Tags tags, long amount) {
+        DistributionSummary.builder(name).tags(tags).register(meterRegistry).record(amount);
+    }
+
+    private void timer(Tags tags, long nanos) {
+        Timer.builder("app.requests.time").tags(tags).register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+}
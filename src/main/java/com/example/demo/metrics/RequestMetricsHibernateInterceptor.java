@@ -0,0 +1,28 @@
+package com.example.demo.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+public class RequestMetricsHibernateInterceptor implements Interceptor, Serializable {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.entityLoaded();
+        }
+        return false;
+    }
+
+    @Override
+    public void postFlush(Iterator<Object> entities) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.flushed();
+        }
+    }
+
+}
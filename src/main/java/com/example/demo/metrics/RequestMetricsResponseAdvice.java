@@ -0,0 +1,42 @@
+package com.example.demo.metrics;
+
+import com.example.demo.config.RequestMetricsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "app.request-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final RequestMetricsProperties properties;
+
+    public RequestMetricsResponseAdvice(RequestMetricsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.handlerCompleted();
+            if (properties.debugHeader()) {
+                response.getHeaders().set(RequestMetricsHandlerInterceptor.DEBUG_HEADER, metrics.toHeaderValue());
+            }
+        }
+        return body;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.example.demo.pagination;
+
+import com.example.demo.config.PaginationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class CachedCount {
+
+    private final long ttlNanos;
+
+    private final LongSupplier counter;
+
+    private volatile Snapshot snapshot;
+
+    private long generation;
+
+    public CachedCount(Duration ttl, LongSupplier counter) {
+        this.ttlNanos = ttl.toNanos();
+        this.counter = counter;
+    }
+
+    public static CachedCount of(PaginationProperties properties, Supplier<Long> estimate, LongSupplier exact) {
+        if (!properties.approximateCounts()) {
+            return new CachedCount(properties.countTtl(), exact);
+        }
+
+        return new CachedCount(properties.countTtl(), () -> {
+            try {
+                Long estimated = estimate.get();
+                if (estimated != null && estimated >= 0) {
+                    return estimated;
+                }
+            } catch (DataAccessException e) {
+                // Statistics are PostgreSQL specific, fall back to an exact count elsewhere.
+            }
+            return exact.getAsLong();
+        });
+    }
+
+    public long get() {
+        Snapshot current = snapshot;
+        long now = System.nanoTime();
+        if (current != null && now - current.loadedAt() < ttlNanos) {
+            return current.value();
+        }
+
+        long loadingGeneration = currentGeneration();
+        long value = counter.getAsLong();
+        synchronized (this) {
+            // A write that happened while counting makes this value stale, so don't keep it.
+            if (generation == loadingGeneration) {
+                snapshot = new Snapshot(value, now);
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+    }
+
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    private record Snapshot(long value, long loadedAt) {}
+
+}
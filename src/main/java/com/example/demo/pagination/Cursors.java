@@ -0,0 +1,130 @@
+package com.example.demo.pagination;
+
+import com.example.demo.domain.dto.CursorPageDto;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+public final class Cursors {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 1000;
+
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+    private Cursors() {}
+
+    public static int size(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    public static Sort sort(Map<String, Sort> sorts, String sort) {
+        Sort cursorSort = sorts.get(sort);
+        if (cursorSort == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort);
+        }
+        return cursorSort;
+    }
+
+    public static <T, R> CursorPageDto<R> page(List<T> rows, int size, Function<? super T, Map<String, ?>> keys,
+                                               Function<? super T, ? extends R> mapper) {
+        CursorPageDto<T> page = page(rows, size, keys);
+        return CursorPageDto.<R>builder()
+                .content(page.getContent().stream().<R>map(mapper).toList())
+                .size(page.getSize())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    /**
+     * Page over rows that are already DTOs. The content is a view of {@code rows}, not a copy.
+     */
+    public static <T> CursorPageDto<T> page(List<T> rows, int size, Function<? super T, Map<String, ?>> keys) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return CursorPageDto.<T>builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(hasNext ? encode(ScrollPosition.forward(keys.apply(content.getLast()))) : null)
+                .build();
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+
+        StringJoiner joiner = new StringJoiner("&");
+        keyset.getKeys().forEach((key, value) -> joiner.add(value == null
+                ? key
+                : key + "=" + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Sort sort, Map<String, Class<?>> propertyTypes,
+                                              Set<String> nullableKeys) {
+        Map<String, Class<?>> keyTypes = new LinkedHashMap<>();
+        sort.forEach(order -> keyTypes.put(order.getProperty(), propertyTypes.get(order.getProperty())));
+        return decode(cursor, keyTypes, nullableKeys);
+    }
+
+    public static KeysetScrollPosition decode(String cursor, Map<String, Class<?>> keyTypes) {
+        return decode(cursor, keyTypes, Set.of());
+    }
+
+    /**
+     * Position after the row the cursor points at. Only keys in {@code nullableKeys} may be without a value.
+     */
+    public static KeysetScrollPosition decode(String cursor, Map<String, Class<?>> keyTypes, Set<String> nullableKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String pair : decoded.split("&")) {
+                int separator = pair.indexOf('=');
+                String key = separator < 0 ? pair : pair.substring(0, separator);
+                Class<?> type = keyTypes.get(key);
+                if (type == null || keys.containsKey(key)) {
+                    throw invalid();
+                }
+                String value = separator < 0 ? null : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+                if (value == null && !nullableKeys.contains(key)) {
+                    throw invalid();
+                }
+                keys.put(key, value == null ? null : CONVERSION.convert(value, type));
+            }
+            if (!keys.keySet().equals(keyTypes.keySet())) {
+                throw invalid();
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | ConversionException e) {
+            throw invalid();
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+}
@@ -1,14 +1,51 @@
 package com.example.demo.repositories;
 
+import com.example.demo.domain.dto.AuthorDto;
 import com.example.demo.domain.entities.AuthorEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface AuthorRepository extends CrudRepository<AuthorEntity, Long> {
+public interface AuthorRepository extends CrudRepository<AuthorEntity, Long>, PagingAndSortingRepository<AuthorEntity, Long>, AuthorRepositoryCustom {
+    @Query("SELECT a FROM AuthorEntity a WHERE a.age < ?1 ORDER BY a.id")
     Iterable<AuthorEntity> ageLessThan(int age);
 
-    @Query("SELECT a from AuthorEntity a where a.age > ?1")
+    @Query("SELECT a from AuthorEntity a where a.age > ?1 ORDER BY a.id")
     Iterable<AuthorEntity> findAuthorsWithAgeGreaterThan(int age);
+
+    @Query("SELECT a.id FROM AuthorEntity a WHERE a.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT a.version FROM AuthorEntity a WHERE a.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Query("SELECT new com.example.demo.domain.dto.AuthorDto(a.id, a.name, a.age) FROM AuthorEntity a"
+            + " WHERE a.age BETWEEN ?1 AND ?2 AND (a.age, a.id) > (?3, ?4) ORDER BY a.age, a.id")
+    List<AuthorDto> findByAgeRange(int minAge, int maxAge, int afterAge, long afterId, Limit limit);
+
+    @Query("SELECT new com.example.demo.domain.dto.AuthorDto(a.id, a.name, a.age) FROM AuthorEntity a")
+    Slice<AuthorDto> findAllDtos(Pageable pageable);
+
+    @Query("SELECT new com.example.demo.domain.dto.AuthorDto(a.id, a.name, a.age) FROM AuthorEntity a WHERE a.id > ?1 ORDER BY a.id")
+    List<AuthorDto> findDtosAfter(long afterId, Limit limit);
+
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = 'authors'", nativeQuery = true)
+    Long estimateCount();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryHints.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.example.demo.domain.dto.AuthorDto(a.id, a.name, a.age) FROM AuthorEntity a ORDER BY a.id")
+    Stream<AuthorDto> streamDtos();
 }
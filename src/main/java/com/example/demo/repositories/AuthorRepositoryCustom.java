@@ -0,0 +1,16 @@
+package com.example.demo.repositories;
+
+import com.example.demo.domain.entities.AuthorEntity;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface AuthorRepositoryCustom {
+
+    Optional<AuthorEntity> patch(Long id, AuthorEntity changes, Long expectedVersion);
+
+    int deleteByIds(Collection<Long> ids);
+
+    int deleteWithoutBooks();
+
+}
@@ -0,0 +1,91 @@
+package com.example.demo.repositories;
+
+import com.example.demo.domain.entities.AuthorEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    private static final String COLUMNS = "a.id, a.name, a.age, a.version";
+
+    private static final RowMapper<AuthorEntity> AUTHOR_ROW_MAPPER = (resultSet, rowNum) -> AuthorEntity.builder()
+            .id(resultSet.getLong("id"))
+            .name(resultSet.getString("name"))
+            .age(resultSet.getObject("age", Integer.class))
+            .version(resultSet.getLong("version"))
+            .build();
+
+    private static final String SELECT_IDS_WITHOUT_BOOKS =
+            "SELECT id FROM authors a WHERE NOT EXISTS (SELECT 1 FROM books b WHERE b.author_id = a.id)";
+
+    // Appended to each chunked DELETE, so an author who gained a book since the select is kept.
+    private static final String AND_WITHOUT_BOOKS = " AND NOT EXISTS (SELECT 1 FROM books b WHERE b.author_id = authors.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final DatabaseProduct databaseProduct;
+
+    public AuthorRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.databaseProduct = DatabaseProduct.of(jdbcTemplate.getDataSource());
+    }
+
+    @Override
+    public Optional<AuthorEntity> patch(Long id, AuthorEntity changes, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> arguments = new ArrayList<>();
+        if (changes.getName() != null) {
+            assignments.add("name = ?");
+            arguments.add(changes.getName());
+        }
+        if (changes.getAge() != null) {
+            assignments.add("age = ?");
+            arguments.add(changes.getAge());
+        }
+        assignments.add("version = version + 1");
+        arguments.add(id);
+        String update = "UPDATE authors SET " + String.join(", ", assignments) + " WHERE id = ?";
+        if (expectedVersion != null) {
+            update += " AND version = ?";
+            arguments.add(expectedVersion);
+        }
+
+        String query = databaseProduct.selectUpdated(update, "id, name, age, version", "a", COLUMNS, "");
+        List<AuthorEntity> updated;
+        if (query != null) {
+            updated = jdbcTemplate.query(query, AUTHOR_ROW_MAPPER, arguments.toArray());
+        } else if (jdbcTemplate.update(update, arguments.toArray()) == 1) {
+            updated = jdbcTemplate.query("SELECT " + COLUMNS + " FROM authors a WHERE a.id = ?", AUTHOR_ROW_MAPPER, id);
+        } else {
+            updated = List.of();
+        }
+
+        SecondLevelCache.evictAfterCommit(entityManagerFactory, AuthorEntity.class, List.of(id));
+        return updated.stream().findFirst();
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        int deleted = ChunkedDeletes.deleteIn(jdbcTemplate, "authors", "id", ids, "");
+        SecondLevelCache.evictAfterCommit(entityManagerFactory, AuthorEntity.class, ids);
+        return deleted;
+    }
+
+    @Override
+    public int deleteWithoutBooks() {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_IDS_WITHOUT_BOOKS, Long.class);
+        int deleted = ChunkedDeletes.deleteIn(jdbcTemplate, "authors", "id", ids, AND_WITHOUT_BOOKS);
+        SecondLevelCache.evictAfterCommit(entityManagerFactory, AuthorEntity.class, ids);
+        return deleted;
+    }
+
+}
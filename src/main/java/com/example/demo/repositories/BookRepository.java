@@ -1,11 +1,69 @@
 package com.example.demo.repositories;
 
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.dto.BookTitleDto;
 import com.example.demo.domain.entities.BookEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface BookRepository extends CrudRepository<BookEntity, String>, PagingAndSortingRepository<BookEntity, String> {
+public interface BookRepository extends CrudRepository<BookEntity, String>, PagingAndSortingRepository<BookEntity, String>, BookRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = "authorEntity")
+    Iterable<BookEntity> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "authorEntity")
+    Page<BookEntity> findAll(Pageable pageable);
+
+    @Query("SELECT new com.example.demo.domain.dto.BookDto(b.isbn, b.title, a.id, a.name, a.age)"
+            + " FROM BookEntity b LEFT JOIN b.authorEntity a")
+    Slice<BookDto> findAllDtos(Pageable pageable);
+
+    @Query("SELECT new com.example.demo.repositories.BookVersion(b.version, a.version) FROM BookEntity b LEFT JOIN b.authorEntity a WHERE b.isbn = ?1")
+    Optional<BookVersion> findVersionByIsbn(String isbn);
+
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = 'books'", nativeQuery = true)
+    Long estimateCount();
+
+    @Query("SELECT new com.example.demo.domain.dto.BookDto(b.isbn, b.title, a.id, a.name, a.age)"
+            + " FROM BookEntity b LEFT JOIN b.authorEntity a WHERE b.isbn > ?1 ORDER BY b.isbn")
+    List<BookDto> findDtosAfter(String afterIsbn, Limit limit);
+
+    @Query("SELECT new com.example.demo.domain.dto.BookDto(b.isbn, b.title, a.id, a.name, a.age)"
+            + " FROM BookEntity b LEFT JOIN b.authorEntity a"
+            + " WHERE b.title IS NOT NULL AND (b.title, b.isbn) > (?1, ?2) ORDER BY b.title, b.isbn")
+    List<BookDto> findTitledDtosAfter(String afterTitle, String afterIsbn, Limit limit);
+
+    @Query("SELECT new com.example.demo.domain.dto.BookDto(b.isbn, b.title, a.id, a.name, a.age)"
+            + " FROM BookEntity b LEFT JOIN b.authorEntity a WHERE b.title IS NULL AND b.isbn > ?1 ORDER BY b.isbn")
+    List<BookDto> findUntitledDtosAfter(String afterIsbn, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryHints.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.example.demo.domain.dto.BookDto(b.isbn, b.title, a.id, a.name, a.age)"
+            + " FROM BookEntity b LEFT JOIN b.authorEntity a ORDER BY b.isbn")
+    Stream<BookDto> streamDtos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + RepositoryHints.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.example.demo.domain.dto.BookTitleDto(b.isbn, b.title) FROM BookEntity b WHERE b.title IS NOT NULL")
+    Stream<BookTitleDto> streamTitles();
+
+    @Query("SELECT b.isbn FROM BookEntity b WHERE b.authorEntity.id = ?1")
+    List<String> findIsbnsByAuthorId(Long authorId);
 
 }
@@ -0,0 +1,20 @@
+package com.example.demo.repositories;
+
+import com.example.demo.domain.entities.BookEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface BookRepositoryCustom {
+
+    Set<String> upsertAll(List<BookEntity> books);
+
+    boolean updateIfVersion(BookEntity book, long expectedVersion);
+
+    Optional<BookEntity> patch(String isbn, BookEntity changes, Long expectedVersion);
+
+    int deleteByIsbns(Collection<String> isbns);
+
+}
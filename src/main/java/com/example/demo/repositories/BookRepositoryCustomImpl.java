@@ -0,0 +1,174 @@
+package com.example.demo.repositories;
+
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String COLUMNS = "b.isbn, b.title, b.version, a.id AS author_id, a.name AS author_name,"
+            + " a.age AS author_age, a.version AS author_version";
+
+    private static final String AUTHOR_JOIN = " LEFT JOIN authors a ON a.id = b.author_id";
+
+    private static final RowMapper<BookEntity> BOOK_ROW_MAPPER = (resultSet, rowNum) -> BookEntity.builder()
+            .isbn(resultSet.getString("isbn"))
+            .title(resultSet.getString("title"))
+            .version(resultSet.getLong("version"))
+            .authorEntity(resultSet.getObject("author_id") == null ? null : AuthorEntity.builder()
+                    .id(resultSet.getLong("author_id"))
+                    .name(resultSet.getString("author_name"))
+                    .age(resultSet.getObject("author_age", Integer.class))
+                    .version(resultSet.getLong("author_version"))
+                    .build())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final DatabaseProduct databaseProduct;
+
+    public BookRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.databaseProduct = DatabaseProduct.of(jdbcTemplate.getDataSource());
+    }
+
+    @Override
+    public Set<String> upsertAll(List<BookEntity> books) {
+        Set<String> created = new HashSet<>();
+        for (int from = 0; from < books.size(); from += CHUNK_SIZE) {
+            List<BookEntity> chunk = books.subList(from, Math.min(from + CHUNK_SIZE, books.size()));
+            created.addAll(databaseProduct == DatabaseProduct.POSTGRESQL ? upsertOnConflict(chunk) : upsertPortable(chunk));
+        }
+        SecondLevelCache.evictAfterCommit(entityManagerFactory, BookEntity.class,
+                books.stream().map(BookEntity::getIsbn).toList());
+        return created;
+    }
+
+    @Override
+    public boolean updateIfVersion(BookEntity book, long expectedVersion) {
+        int updated = jdbcTemplate.update(
+                "UPDATE books SET title = ?, author_id = ?, version = version + 1 WHERE isbn = ? AND version = ?",
+                new Object[]{book.getTitle(), authorId(book), book.getIsbn(), expectedVersion},
+                new int[]{Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.BIGINT});
+        SecondLevelCache.evictAfterCommit(entityManagerFactory, BookEntity.class, List.of(book.getIsbn()));
+        return updated == 1;
+    }
+
+    @Override
+    public Optional<BookEntity> patch(String isbn, BookEntity changes, Long expectedVersion) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> arguments = new ArrayList<>();
+        if (changes.getTitle() != null) {
+            assignments.add("title = ?");
+            arguments.add(changes.getTitle());
+        }
+        assignments.add("version = version + 1");
+        arguments.add(isbn);
+        String update = "UPDATE books SET " + String.join(", ", assignments) + " WHERE isbn = ?";
+        if (expectedVersion != null) {
+            update += " AND version = ?";
+            arguments.add(expectedVersion);
+        }
+
+        String query = databaseProduct.selectUpdated(update, "isbn, title, author_id, version", "b", COLUMNS, AUTHOR_JOIN);
+        List<BookEntity> updated;
+        if (query != null) {
+            updated = jdbcTemplate.query(query, BOOK_ROW_MAPPER, arguments.toArray());
+        } else if (jdbcTemplate.update(update, arguments.toArray()) == 1) {
+            updated = jdbcTemplate.query("SELECT " + COLUMNS + " FROM books b" + AUTHOR_JOIN + " WHERE b.isbn = ?",
+                    BOOK_ROW_MAPPER, isbn);
+        } else {
+            updated = List.of();
+        }
+
+        SecondLevelCache.evictAfterCommit(entityManagerFactory, BookEntity.class, List.of(isbn));
+        return updated.stream().findFirst();
+    }
+
+    @Override
+    public int deleteByIsbns(Collection<String> isbns) {
+        int deleted = ChunkedDeletes.deleteIn(jdbcTemplate, "books", "isbn", isbns, "");
+        SecondLevelCache.evictAfterCommit(entityManagerFactory, BookEntity.class, isbns);
+        return deleted;
+    }
+
+    private Set<String> upsertOnConflict(List<BookEntity> books) {
+        String sql = "INSERT INTO books (isbn, title, author_id, version) VALUES "
+                + String.join(", ", Collections.nCopies(books.size(), "(?, ?, ?, 0)"))
+                + " ON CONFLICT (isbn) DO UPDATE SET title = EXCLUDED.title, author_id = EXCLUDED.author_id,"
+                + " version = books.version + 1"
+                + " RETURNING isbn, (xmax = 0) AS created";
+
+        Set<String> created = new HashSet<>();
+        jdbcTemplate.query(sql, statement -> {
+            int index = 1;
+            for (BookEntity book : books) {
+                index = setBook(statement, index, book);
+            }
+        }, resultSet -> {
+            if (resultSet.getBoolean("created")) {
+                created.add(resultSet.getString("isbn"));
+            }
+        });
+        return created;
+    }
+
+    private Set<String> upsertPortable(List<BookEntity> books) {
+        List<String> isbns = books.stream().map(BookEntity::getIsbn).toList();
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT isbn FROM books WHERE isbn IN (" + String.join(", ", Collections.nCopies(isbns.size(), "?")) + ")",
+                String.class,
+                isbns.toArray()));
+
+        List<BookEntity> inserts = new ArrayList<>();
+        List<BookEntity> updates = new ArrayList<>();
+        books.forEach(book -> (existing.contains(book.getIsbn()) ? updates : inserts).add(book));
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO books (isbn, title, author_id, version) VALUES (?, ?, ?, 0)",
+                    inserts, inserts.size(), (statement, book) -> setBook(statement, 1, book));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE books SET title = ?, author_id = ?, version = version + 1 WHERE isbn = ?",
+                    updates, updates.size(), (statement, book) -> {
+                        statement.setString(1, book.getTitle());
+                        statement.setObject(2, authorId(book), Types.BIGINT);
+                        statement.setString(3, book.getIsbn());
+                    });
+        }
+
+        Set<String> created = new HashSet<>();
+        inserts.forEach(book -> created.add(book.getIsbn()));
+        return created;
+    }
+
+    private static int setBook(PreparedStatement statement, int index, BookEntity book) throws SQLException {
+        statement.setString(index, book.getIsbn());
+        statement.setString(index + 1, book.getTitle());
+        statement.setObject(index + 2, authorId(book), Types.BIGINT);
+        return index + 3;
+    }
+
+    private static Long authorId(BookEntity book) {
+        return book.getAuthorEntity() == null ? null : book.getAuthorEntity().getId();
+    }
+
+}
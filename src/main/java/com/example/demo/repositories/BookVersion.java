@@ -0,0 +1,4 @@
+package com.example.demo.repositories;
+
+public record BookVersion(long version, Long authorVersion) {
+}
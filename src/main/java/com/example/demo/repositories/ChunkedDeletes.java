@@ -0,0 +1,28 @@
+package com.example.demo.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+final class ChunkedDeletes {
+
+    static final int CHUNK_SIZE = 500;
+
+    private ChunkedDeletes() {}
+
+    static int deleteIn(JdbcTemplate jdbcTemplate, String table, String keyColumn, Collection<?> keys, String condition) {
+        List<?> distinctKeys = List.copyOf(new LinkedHashSet<>(keys));
+        int deleted = 0;
+        for (int from = 0; from < distinctKeys.size(); from += CHUNK_SIZE) {
+            List<?> chunk = distinctKeys.subList(from, Math.min(from + CHUNK_SIZE, distinctKeys.size()));
+            deleted += jdbcTemplate.update(
+                    "DELETE FROM " + table + " WHERE " + keyColumn + " IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")" + condition,
+                    chunk.toArray());
+        }
+        return deleted;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.demo.repositories;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+public enum DatabaseProduct {
+
+    POSTGRESQL,
+
+    H2,
+
+    OTHER;
+
+    public static DatabaseProduct of(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if ("PostgreSQL".equalsIgnoreCase(productName)) {
+                return POSTGRESQL;
+            }
+            if ("H2".equalsIgnoreCase(productName)) {
+                return H2;
+            }
+            return OTHER;
+        } catch (MetaDataAccessException e) {
+            return OTHER;
+        }
+    }
+
+    // Returns null when the database cannot read back updated rows in the same statement.
+    String selectUpdated(String update, String returning, String alias, String columns, String joins) {
+        return switch (this) {
+            case POSTGRESQL -> "WITH " + alias + " AS (" + update + " RETURNING " + returning + ") SELECT " + columns
+                    + " FROM " + alias + joins;
+            case H2 -> "SELECT " + columns + " FROM FINAL TABLE (" + update + ") " + alias + joins;
+            case OTHER -> null;
+        };
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.example.demo.repositories;
+
+import com.example.demo.domain.entities.AuthorEntity;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@ConditionalOnProperty(prefix = "app.reactive", name = "url")
+public class ReactiveAuthorRepository {
+
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String SELECT = "SELECT id, name, age, version FROM authors";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveAuthorRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<AuthorEntity> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveAuthorRepository::author)
+                .one();
+    }
+
+    public Flux<AuthorEntity> findAllAfter(Long afterId, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = afterId == null
+                ? databaseClient.sql(SELECT + " ORDER BY id LIMIT :limit")
+                : databaseClient.sql(SELECT + " WHERE id > :after ORDER BY id LIMIT :limit").bind("after", afterId);
+        return spec.bind("limit", limit)
+                .map(ReactiveAuthorRepository::author)
+                .all();
+    }
+
+    public Flux<AuthorEntity> streamAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(ReactiveAuthorRepository::author)
+                .all();
+    }
+
+    private static AuthorEntity author(Readable row) {
+        return AuthorEntity.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .age(row.get("age", Integer.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+}
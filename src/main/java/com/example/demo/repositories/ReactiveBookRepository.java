@@ -0,0 +1,63 @@
+package com.example.demo.repositories;
+
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@ConditionalOnProperty(prefix = "app.reactive", name = "url")
+public class ReactiveBookRepository {
+
+    private static final String SELECT = "SELECT b.isbn, b.title, b.version, a.id AS author_id, a.name AS author_name,"
+            + " a.age AS author_age, a.version AS author_version FROM books b LEFT JOIN authors a ON a.id = b.author_id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveBookRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<BookEntity> findByIsbn(String isbn) {
+        return databaseClient.sql(SELECT + " WHERE b.isbn = :isbn")
+                .bind("isbn", isbn)
+                .map(ReactiveBookRepository::book)
+                .one();
+    }
+
+    public Flux<BookEntity> findAllAfter(String afterIsbn, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = afterIsbn == null
+                ? databaseClient.sql(SELECT + " ORDER BY b.isbn LIMIT :limit")
+                : databaseClient.sql(SELECT + " WHERE b.isbn > :after ORDER BY b.isbn LIMIT :limit").bind("after", afterIsbn);
+        return spec.bind("limit", limit)
+                .map(ReactiveBookRepository::book)
+                .all();
+    }
+
+    public Flux<BookEntity> streamAll() {
+        return databaseClient.sql(SELECT + " ORDER BY b.isbn")
+                .filter(statement -> statement.fetchSize(ReactiveAuthorRepository.STREAM_FETCH_SIZE))
+                .map(ReactiveBookRepository::book)
+                .all();
+    }
+
+    private static BookEntity book(Readable row) {
+        Long authorId = row.get("author_id", Long.class);
+        return BookEntity.builder()
+                .isbn(row.get("isbn", String.class))
+                .title(row.get("title", String.class))
+                .version(row.get("version", Long.class))
+                .authorEntity(authorId == null ? null : AuthorEntity.builder()
+                        .id(authorId)
+                        .name(row.get("author_name", String.class))
+                        .age(row.get("author_age", Integer.class))
+                        .version(row.get("author_version", Long.class))
+                        .build())
+                .build();
+    }
+
+}
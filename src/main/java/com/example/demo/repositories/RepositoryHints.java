@@ -0,0 +1,9 @@
+package com.example.demo.repositories;
+
+public final class RepositoryHints {
+
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    private RepositoryHints() {}
+
+}
@@ -0,0 +1,30 @@
+package com.example.demo.repositories;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+final class SecondLevelCache {
+
+    private SecondLevelCache() {}
+
+    static void evictAfterCommit(EntityManagerFactory entityManagerFactory, Class<?> entityType, Collection<?> ids) {
+        Cache cache = entityManagerFactory.getCache();
+        ids.forEach(id -> cache.evict(entityType, id));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        // Evict again once committed, in case a concurrent reader cached the old row in between.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(id -> cache.evict(entityType, id));
+            }
+        });
+    }
+
+}
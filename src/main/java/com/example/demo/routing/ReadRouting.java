@@ -0,0 +1,25 @@
+package com.example.demo.routing;
+
+/**
+ * Tracks whether the reads of the current request must see its client's own recent writes and
+ * therefore go to the primary instead of a replica.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadRouting() {}
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.example.demo.routing;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Gives each client read-your-writes consistency across replicas. A write request answers with a cookie
+ * holding the instant until which replicas may still lag behind it; requests carrying an unexpired
+ * cookie, and write requests themselves, read from the primary.
+ */
+public class ReadRoutingHandlerInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String PIN_COOKIE = "read-primary-until";
+
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final Duration primaryPin;
+
+    public ReadRoutingHandlerInterceptor(Duration primaryPin) {
+        this.primaryPin = primaryPin;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        if (!READ_METHODS.contains(request.getMethod())) {
+            ReadRouting.pinToPrimary();
+            // Set before the handler runs: once the body is written the response is committed.
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(PIN_COOKIE, Long.toString(now + primaryPin.toMillis()))
+                    .path("/")
+                    .httpOnly(true)
+                    .maxAge(primaryPin)
+                    .build()
+                    .toString());
+        } else if (pinnedUntil(request) > now) {
+            ReadRouting.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadRouting.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRouting.clear();
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (PIN_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.example.demo.routing;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps rows read from a replica out of the second-level cache. Read-only transactions that are not pinned to the
+ * primary may read a lagging replica; if they put what they loaded into the shared cache, a client pinned to the
+ * primary would be served the stale row from the cache after its own write. Such transactions still read the cache.
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    // Set as a property rather than through Session.setCacheMode: EntityManager.find derives the cache mode of
+    // each call from the properties, which would put the default mode back.
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || ReadRouting.isPinnedToPrimary()) {
+            return transactionData;
+        }
+
+        Object previousStoreMode = entityManager.getProperties().getOrDefault(STORE_MODE, CacheStoreMode.USE);
+        entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReplicaTransactionData(transactionData, entityManager, previousStoreMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replicaTransactionData) {
+            if (replicaTransactionData.entityManager().isOpen()) {
+                replicaTransactionData.entityManager().setProperty(STORE_MODE, replicaTransactionData.previousStoreMode());
+            }
+            transactionData = replicaTransactionData.transactionData();
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private record ReplicaTransactionData(Object transactionData, EntityManager entityManager, Object previousStoreMode) {}
+
+}
@@ -0,0 +1,225 @@
+package com.example.demo.search;
+
+import com.example.demo.domain.dto.BookTitleDto;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book titles. Tokens are kept in a sorted map, so the same structure
+ * answers exact token lookups and token prefix scans. Reads are lock-free; writes are serialized.
+ */
+public class TitleIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, String> titles = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+
+    public synchronized void put(String isbn, String title) {
+        String previous = title == null ? titles.remove(isbn) : titles.put(isbn, title);
+        Set<String> previousTokens = previous == null ? Set.of() : tokens(previous);
+        Set<String> tokens = title == null ? Set.of() : tokens(title);
+        previousTokens.stream().filter(token -> !tokens.contains(token)).forEach(token -> unpost(token, isbn));
+        tokens.forEach(token -> postings.computeIfAbsent(token, key -> new Postings()).add(isbn));
+    }
+
+    public void remove(String isbn) {
+        put(isbn, null);
+    }
+
+    public void putAfterCommit(Map<String, String> titlesByIsbn) {
+        afterCommit(() -> titlesByIsbn.forEach(this::put));
+    }
+
+    public void removeAfterCommit(Collection<String> isbns) {
+        afterCommit(() -> isbns.forEach(this::remove));
+    }
+
+    public int size() {
+        return titles.size();
+    }
+
+    /**
+     * Books whose titles contain every token of the query, in ISBN order.
+     */
+    public List<BookTitleDto> search(String query, int limit) {
+        List<Postings> sets = lookup(tokens(query));
+        if (sets == null || sets.isEmpty()) {
+            return List.of();
+        }
+
+        List<BookTitleDto> results = new ArrayList<>();
+        for (String isbn : sets.getFirst().isbns) {
+            if (results.size() == limit) {
+                break;
+            }
+            if (containedInAll(sets, 1, isbn)) {
+                addResult(results, isbn);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Books whose titles contain every complete token of the input and a token starting with its last,
+     * possibly partial, token.
+     */
+    public List<BookTitleDto> suggest(String prefix, int limit) {
+        List<String> tokens = new ArrayList<>(tokens(prefix));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String partial = tokens.removeLast();
+        List<Postings> complete = lookup(tokens);
+        if (complete == null) {
+            return List.of();
+        }
+
+        // Drive from whichever side has fewer candidates: the completions of the partial token, checked
+        // against the complete tokens' postings, or the rarest complete token, checked against the title.
+        Collection<Postings> completions = completions(partial).values();
+        long completionCount = 0;
+        for (Postings candidates : completions) {
+            completionCount += candidates.size;
+        }
+
+        List<BookTitleDto> results = new ArrayList<>();
+        if (complete.isEmpty() || completionCount <= complete.getFirst().size) {
+            Set<String> seen = new HashSet<>();
+            for (Postings candidates : completions) {
+                for (String isbn : candidates.isbns) {
+                    if (results.size() == limit) {
+                        return results;
+                    }
+                    if (containedInAll(complete, 0, isbn) && seen.add(isbn)) {
+                        addResult(results, isbn);
+                    }
+                }
+            }
+            return results;
+        }
+
+        for (String isbn : complete.getFirst().isbns) {
+            if (results.size() == limit) {
+                break;
+            }
+            String title = titles.get(isbn);
+            if (title != null
+                    && containedInAll(complete, 1, isbn)
+                    && tokens(title).stream().anyMatch(token -> token.startsWith(partial))) {
+                results.add(BookTitleDto.builder().isbn(isbn).title(title).build());
+            }
+        }
+        return results;
+    }
+
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Postings of every token, rarest first, or {@code null} when a token is not indexed.
+     */
+    private List<Postings> lookup(Collection<String> tokens) {
+        List<Postings> sets = new ArrayList<>();
+        for (String token : tokens) {
+            Postings isbns = postings.get(token);
+            if (isbns == null) {
+                return null;
+            }
+            sets.add(isbns);
+        }
+        sets.sort(Comparator.comparingInt(isbns -> isbns.size));
+        return sets;
+    }
+
+    private static boolean containedInAll(List<Postings> sets, int from, String isbn) {
+        for (int i = from; i < sets.size(); i++) {
+            if (!sets.get(i).isbns.contains(isbn)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private NavigableMap<String, Postings> completions(String partial) {
+        return postings.subMap(partial, true, partial + Character.MAX_VALUE, false);
+    }
+
+    private void addResult(List<BookTitleDto> results, String isbn) {
+        String title = titles.get(isbn);
+        if (title != null) {
+            results.add(BookTitleDto.builder().isbn(isbn).title(title).build());
+        }
+    }
+
+    private void unpost(String token, String isbn) {
+        Postings isbns = postings.get(token);
+        if (isbns != null && isbns.remove(isbn) == 0) {
+            postings.remove(token);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * ISBNs of the titles containing a token. The size is tracked alongside the set because
+     * {@link ConcurrentSkipListSet#size()} walks the whole set.
+     */
+    private static final class Postings {
+
+        private final NavigableSet<String> isbns = new ConcurrentSkipListSet<>();
+
+        private volatile int size;
+
+        void add(String isbn) {
+            if (isbns.add(isbn)) {
+                size++;
+            }
+        }
+
+        int remove(String isbn) {
+            if (isbns.remove(isbn)) {
+                size--;
+            }
+            return size;
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.demo.serialization;
+
+import com.example.demo.domain.dto.AuthorDto;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+public class AuthorDtoSerializer extends StdSerializer<AuthorDto> {
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    private static final SerializableString NAME = new SerializedString("name");
+
+    private static final SerializableString AGE = new SerializedString("age");
+
+    public AuthorDtoSerializer() {
+        super(AuthorDto.class);
+    }
+
+    @Override
+    public void serialize(AuthorDto author, JsonGenerator generator, SerializationContext context) {
+        write(author, generator);
+    }
+
+    static void write(AuthorDto author, JsonGenerator generator) {
+        generator.writeStartObject(author);
+        generator.writeName(ID);
+        if (author.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(author.getId());
+        }
+        generator.writeName(NAME);
+        generator.writeString(author.getName());
+        generator.writeName(AGE);
+        if (author.getAge() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(author.getAge());
+        }
+        generator.writeEndObject();
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.demo.serialization;
+
+import com.example.demo.domain.dto.BookDto;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+public class BookDtoSerializer extends StdSerializer<BookDto> {
+
+    private static final SerializableString AUTHOR = new SerializedString("author");
+
+    private static final SerializableString ISBN = new SerializedString("isbn");
+
+    private static final SerializableString TITLE = new SerializedString("title");
+
+    public BookDtoSerializer() {
+        super(BookDto.class);
+    }
+
+    @Override
+    public void serialize(BookDto book, JsonGenerator generator, SerializationContext context) {
+        write(book, generator);
+    }
+
+    static void write(BookDto book, JsonGenerator generator) {
+        generator.writeStartObject(book);
+        generator.writeName(AUTHOR);
+        if (book.getAuthor() == null) {
+            generator.writeNull();
+        } else {
+            AuthorDtoSerializer.write(book.getAuthor(), generator);
+        }
+        generator.writeName(ISBN);
+        generator.writeString(book.getIsbn());
+        generator.writeName(TITLE);
+        generator.writeString(book.getTitle());
+        generator.writeEndObject();
+    }
+
+}
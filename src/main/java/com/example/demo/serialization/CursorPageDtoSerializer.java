@@ -0,0 +1,42 @@
+package com.example.demo.serialization;
+
+import com.example.demo.domain.dto.CursorPageDto;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.util.List;
+
+@SuppressWarnings("rawtypes")
+public class CursorPageDtoSerializer extends StdSerializer<CursorPageDto> {
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+
+    private static final SerializableString SIZE = new SerializedString("size");
+
+    private static final SerializableString NEXT_CURSOR = new SerializedString("nextCursor");
+
+    public CursorPageDtoSerializer() {
+        super(CursorPageDto.class);
+    }
+
+    @Override
+    public void serialize(CursorPageDto page, JsonGenerator generator, SerializationContext context) {
+        generator.writeStartObject(page);
+        generator.writeName(CONTENT);
+        List<?> content = page.getContent();
+        if (content == null) {
+            generator.writeNull();
+        } else {
+            Rows.writeArray(content, generator, context);
+        }
+        generator.writeName(SIZE);
+        generator.writeNumber(page.getSize());
+        generator.writeName(NEXT_CURSOR);
+        generator.writeString(page.getNextCursor());
+        generator.writeEndObject();
+    }
+
+}
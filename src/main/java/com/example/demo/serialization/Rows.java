@@ -0,0 +1,30 @@
+package com.example.demo.serialization;
+
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BookDto;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+
+import java.util.List;
+
+final class Rows {
+
+    private Rows() {}
+
+    /**
+     * Writes the rows as a JSON array, calling the DTO writers directly instead of resolving a serializer per row.
+     */
+    static void writeArray(List<?> rows, JsonGenerator generator, SerializationContext context) {
+        generator.writeStartArray(rows, rows.size());
+        for (Object row : rows) {
+            switch (row) {
+                case BookDto book -> BookDtoSerializer.write(book, generator);
+                case AuthorDto author -> AuthorDtoSerializer.write(author, generator);
+                case null -> generator.writeNull();
+                default -> context.writeValue(generator, row);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+}
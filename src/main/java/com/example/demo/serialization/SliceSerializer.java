@@ -0,0 +1,122 @@
+package com.example.demo.serialization;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link Slice} and {@link Page} responses in the same shape as Jackson's bean serialization of
+ * {@code SliceImpl} and {@code PageImpl}, without introspecting the page for every response.
+ */
+@SuppressWarnings("rawtypes")
+public class SliceSerializer extends StdSerializer<Slice> {
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+
+    private static final SerializableString EMPTY = new SerializedString("empty");
+
+    private static final SerializableString FIRST = new SerializedString("first");
+
+    private static final SerializableString LAST = new SerializedString("last");
+
+    private static final SerializableString NUMBER = new SerializedString("number");
+
+    private static final SerializableString NUMBER_OF_ELEMENTS = new SerializedString("numberOfElements");
+
+    private static final SerializableString PAGEABLE = new SerializedString("pageable");
+
+    private static final SerializableString OFFSET = new SerializedString("offset");
+
+    private static final SerializableString PAGE_NUMBER = new SerializedString("pageNumber");
+
+    private static final SerializableString PAGE_SIZE = new SerializedString("pageSize");
+
+    private static final SerializableString PAGED = new SerializedString("paged");
+
+    private static final SerializableString UNPAGED = new SerializedString("unpaged");
+
+    private static final SerializableString SIZE = new SerializedString("size");
+
+    private static final SerializableString SORT = new SerializedString("sort");
+
+    private static final SerializableString SORTED = new SerializedString("sorted");
+
+    private static final SerializableString UNSORTED = new SerializedString("unsorted");
+
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+
+    public SliceSerializer() {
+        super(Slice.class);
+    }
+
+    @Override
+    public void serialize(Slice slice, JsonGenerator generator, SerializationContext context) {
+        generator.writeStartObject(slice);
+        generator.writeName(CONTENT);
+        Rows.writeArray(slice.getContent(), generator, context);
+        generator.writeName(EMPTY);
+        generator.writeBoolean(slice.isEmpty());
+        generator.writeName(FIRST);
+        generator.writeBoolean(slice.isFirst());
+        generator.writeName(LAST);
+        generator.writeBoolean(slice.isLast());
+        generator.writeName(NUMBER);
+        generator.writeNumber(slice.getNumber());
+        generator.writeName(NUMBER_OF_ELEMENTS);
+        generator.writeNumber(slice.getNumberOfElements());
+        generator.writeName(PAGEABLE);
+        writePageable(slice.getPageable(), generator);
+        generator.writeName(SIZE);
+        generator.writeNumber(slice.getSize());
+        generator.writeName(SORT);
+        writeSort(slice.getSort(), generator);
+        if (slice instanceof Page<?> page) {
+            generator.writeName(TOTAL_ELEMENTS);
+            generator.writeNumber(page.getTotalElements());
+            generator.writeName(TOTAL_PAGES);
+            generator.writeNumber(page.getTotalPages());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writePageable(Pageable pageable, JsonGenerator generator) {
+        if (pageable.isUnpaged()) {
+            generator.writeString("INSTANCE");
+            return;
+        }
+        generator.writeStartObject(pageable);
+        generator.writeName(OFFSET);
+        generator.writeNumber(pageable.getOffset());
+        generator.writeName(PAGE_NUMBER);
+        generator.writeNumber(pageable.getPageNumber());
+        generator.writeName(PAGE_SIZE);
+        generator.writeNumber(pageable.getPageSize());
+        generator.writeName(PAGED);
+        generator.writeBoolean(true);
+        generator.writeName(SORT);
+        writeSort(pageable.getSort(), generator);
+        generator.writeName(UNPAGED);
+        generator.writeBoolean(false);
+        generator.writeEndObject();
+    }
+
+    private static void writeSort(Sort sort, JsonGenerator generator) {
+        generator.writeStartObject(sort);
+        generator.writeName(EMPTY);
+        generator.writeBoolean(sort.isEmpty());
+        generator.writeName(SORTED);
+        generator.writeBoolean(sort.isSorted());
+        generator.writeName(UNSORTED);
+        generator.writeBoolean(sort.isUnsorted());
+        generator.writeEndObject();
+    }
+
+}
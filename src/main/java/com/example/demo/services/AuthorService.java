@@ -1,21 +1,48 @@
 package com.example.demo.services;
 
+import com.example.demo.domain.dto.AuthorDto;
 import com.example.demo.domain.entities.AuthorEntity;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface AuthorService {
 
     AuthorEntity save(AuthorEntity authorEntity);
 
+    List<AuthorEntity> saveAll(List<AuthorEntity> authorEntities);
+
     List<AuthorEntity> findAll();
 
+    Page<AuthorDto> findAll(Pageable pageable);
+
+    List<AuthorDto> findAll(KeysetScrollPosition position, int size);
+
+    List<AuthorDto> findByAgeRange(int minAge, int maxAge, KeysetScrollPosition position, int size);
+
+    void streamAll(Consumer<AuthorDto> consumer);
+
     Optional<AuthorEntity> findOne(Long id);
 
+    Optional<Long> findVersion(Long id);
+
     boolean isExists(Long id);
 
-    AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity);
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    Optional<AuthorEntity> fullUpdate(Long id, AuthorEntity authorEntity, Long expectedVersion);
+
+    Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity, Long expectedVersion);
+
+    int delete(Long id);
+
+    int deleteAll(Collection<Long> ids);
 
-    void delete(Long id);
+    int deleteWithoutBooks();
 }
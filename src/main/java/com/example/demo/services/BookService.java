@@ -1,25 +1,54 @@
 package com.example.demo.services;
 
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.dto.BookTitleDto;
 import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.repositories.BookVersion;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BookService {
 
-    BookEntity createUpdateBook(String isbn, BookEntity book);
+    boolean upsert(String isbn, BookEntity book);
+
+    Set<String> upsertAll(List<BookEntity> books);
+
+    boolean update(String isbn, BookEntity book, long expectedVersion);
 
     List<BookEntity> findAll();
 
-    Page<BookEntity> findAll(Pageable pageable);
+    Page<BookDto> findAll(Pageable pageable);
+
+    Slice<BookDto> findSlice(Pageable pageable);
+
+    List<BookDto> findAll(KeysetScrollPosition position, Sort sort, int size);
+
+    void streamAll(Consumer<BookDto> consumer);
 
     Optional<BookEntity> findOne(String isbn);
 
+    Optional<BookVersion> findVersion(String isbn);
+
     boolean isExists(String isbn);
 
-    BookEntity partialUpdate(String isbn, BookEntity bookEntity);
+    Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity, Long expectedVersion);
+
+    List<BookTitleDto> search(String query, int limit);
+
+    List<BookTitleDto> suggest(String prefix, int limit);
+
+    int delete(String isbn);
+
+    int deleteAll(Collection<String> isbns);
 
-    void delete(String isbn);
+    int deleteByAuthor(Long authorId);
 }
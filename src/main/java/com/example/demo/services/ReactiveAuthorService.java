@@ -0,0 +1,15 @@
+package com.example.demo.services;
+
+import com.example.demo.domain.entities.AuthorEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAuthorService {
+
+    Mono<AuthorEntity> findOne(Long id);
+
+    Flux<AuthorEntity> findAll(Long after, int limit);
+
+    Flux<AuthorEntity> streamAll();
+
+}
@@ -0,0 +1,15 @@
+package com.example.demo.services;
+
+import com.example.demo.domain.entities.BookEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookService {
+
+    Mono<BookEntity> findOne(String isbn);
+
+    Flux<BookEntity> findAll(String after, int limit);
+
+    Flux<BookEntity> streamAll();
+
+}
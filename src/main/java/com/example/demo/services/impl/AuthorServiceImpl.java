@@ -1,13 +1,34 @@
 package com.example.demo.services.impl;
 
+import com.example.demo.coalescing.SingleFlight;
+import com.example.demo.config.PaginationProperties;
+import com.example.demo.domain.dto.AuthorDto;
 import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.pagination.CachedCount;
 import com.example.demo.repositories.AuthorRepository;
+import com.example.demo.routing.ReadRouting;
 import com.example.demo.services.AuthorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 @Service
@@ -15,16 +36,53 @@ public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    private final EntityManager entityManager;
+
+    private final CachedCount authorCount;
+
+    private final int batchSize;
+
+    private final SingleFlight<Long, Optional<AuthorEntity>> authorLoads;
+
+    public AuthorServiceImpl(
+            AuthorRepository authorRepository,
+            EntityManager entityManager,
+            PaginationProperties paginationProperties,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+            MeterRegistry meterRegistry
+    ) {
         this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
+        this.authorCount = CachedCount.of(paginationProperties, authorRepository::estimateCount, authorRepository::count);
+        this.batchSize = batchSize;
+        this.authorLoads = new SingleFlight<>("authors", meterRegistry);
     }
 
     @Override
     public AuthorEntity save(AuthorEntity authorEntity) {
-        return authorRepository.save(authorEntity);
+        AuthorEntity savedAuthor = authorRepository.save(authorEntity);
+        authorCount.invalidate();
+        SingleFlight.invalidateAfterCommit();
+        return savedAuthor;
     }
 
     @Override
+    @Transactional
+    public List<AuthorEntity> saveAll(List<AuthorEntity> authorEntities) {
+        for (int i = 0; i < authorEntities.size(); i++) {
+            entityManager.persist(authorEntities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        authorCount.invalidateAfterCommit();
+        SingleFlight.invalidateAfterCommit();
+        return authorEntities;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<AuthorEntity> findAll() {
         return StreamSupport.stream(authorRepository
                 .findAll()
@@ -33,29 +91,128 @@ public class AuthorServiceImpl implements AuthorService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AuthorDto> findAll(Pageable pageable) {
+        Slice<AuthorDto> authors = authorRepository.findAllDtos(pageable);
+        return PageableExecutionUtils.getPage(authors.getContent(), pageable, authorCount::get);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthorDto> findAll(KeysetScrollPosition position, int size) {
+        long afterId = position.isInitial() ? Long.MIN_VALUE : (Long) position.getKeys().get("id");
+        return authorRepository.findDtosAfter(afterId, Limit.of(size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuthorDto> findByAgeRange(int minAge, int maxAge, KeysetScrollPosition position, int size) {
+        int afterAge = position.isInitial() ? Integer.MIN_VALUE : (Integer) position.getKeys().get("age");
+        long afterId = position.isInitial() ? Long.MIN_VALUE : (Long) position.getKeys().get("id");
+        return authorRepository.findByAgeRange(minAge, maxAge, afterAge, afterId, Limit.of(size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<AuthorDto> consumer) {
+        try (Stream<AuthorDto> authors = authorRepository.streamDtos()) {
+            authors.forEach(consumer);
+        }
+    }
+
+    // Not transactional, see BookServiceImpl.findOne.
     @Override
     public Optional<AuthorEntity> findOne(Long id) {
-        return authorRepository.findById(id);
+        if (ReadRouting.isPinnedToPrimary()) {
+            return authorRepository.findById(id);
+        }
+        return authorLoads.load(id, () -> authorRepository.findById(id));
     }
 
     @Override
+    public Optional<Long> findVersion(Long id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(AuthorEntity.class, id)) {
+            return authorRepository.findById(id).map(AuthorEntity::getVersion);
+        }
+        return authorRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public boolean isExists(Long id) {
         return authorRepository.existsById(id);
     }
 
     @Override
-    public AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity) {
-        authorEntity.setId(id);
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(authorRepository.findExistingIds(ids));
+    }
+
+    @Override
+    @Transactional
+    public Optional<AuthorEntity> fullUpdate(Long id, AuthorEntity authorEntity, Long expectedVersion) {
+        return update(id, expectedVersion, existingAuthor -> {
+            existingAuthor.setName(authorEntity.getName());
+            existingAuthor.setAge(authorEntity.getAge());
+        });
+    }
+
+    @Override
+    public Optional<AuthorEntity> partialUpdate(Long id, AuthorEntity authorEntity, Long expectedVersion) {
+        if (authorEntity.getName() == null && authorEntity.getAge() == null) {
+            return authorRepository.findById(id);
+        }
 
-        return authorRepository.findById(id).map(existingAuthor -> {
-            Optional.ofNullable(authorEntity.getName()).ifPresent(existingAuthor::setName);
-            Optional.ofNullable(authorEntity.getAge()).ifPresent(existingAuthor::setAge);
-            return authorRepository.save(existingAuthor);
-        }).orElseThrow(() -> new RuntimeException("Author does not exist"));
+        Optional<AuthorEntity> updatedAuthor = authorRepository.patch(id, authorEntity, expectedVersion);
+        SingleFlight.invalidateAfterCommit();
+        if (updatedAuthor.isEmpty() && expectedVersion != null && authorRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException("Author " + id + " has changed");
+        }
+        return updatedAuthor;
     }
 
     @Override
-    public void delete(Long id) {
-        authorRepository.deleteById(id);
+    public int delete(Long id) {
+        int deleted = authorRepository.deleteByIds(List.of(id));
+        authorCount.invalidate();
+        SingleFlight.invalidateAfterCommit();
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAll(Collection<Long> ids) {
+        int deleted = authorRepository.deleteByIds(ids);
+        authorCount.invalidateAfterCommit();
+        SingleFlight.invalidateAfterCommit();
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteWithoutBooks() {
+        int deleted = authorRepository.deleteWithoutBooks();
+        authorCount.invalidateAfterCommit();
+        SingleFlight.invalidateAfterCommit();
+        return deleted;
+    }
+
+    // Runs in the caller's transaction: the author stays managed, so dirty checking issues one versioned UPDATE.
+    // Flushing here makes the returned entity carry the new version.
+    private Optional<AuthorEntity> update(Long id, Long expectedVersion, Consumer<AuthorEntity> changes) {
+        Optional<AuthorEntity> author = authorRepository.findById(id);
+        author.ifPresent(existingAuthor -> {
+            if (expectedVersion != null && existingAuthor.getVersion() != expectedVersion) {
+                throw new OptimisticLockingFailureException("Author " + id + " has changed");
+            }
+            changes.accept(existingAuthor);
+            entityManager.flush();
+            SingleFlight.invalidateAfterCommit();
+        });
+        return author;
     }
 }
@@ -1,33 +1,128 @@
 package com.example.demo.services.impl;
 
+import com.example.demo.coalescing.SingleFlight;
+import com.example.demo.config.PaginationProperties;
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.dto.BookTitleDto;
+import com.example.demo.domain.entities.AuthorEntity;
 import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.pagination.CachedCount;
 import com.example.demo.repositories.BookRepository;
+import com.example.demo.repositories.BookVersion;
+import com.example.demo.routing.ReadRouting;
+import com.example.demo.search.TitleIndex;
+import com.example.demo.services.AuthorService;
 import com.example.demo.services.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 @Service
-public class BookServiceImpl implements BookService {
+public class BookServiceImpl implements BookService, SmartInitializingSingleton {
 
     private final BookRepository bookRepository;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    private final AuthorService authorService;
+
+    private final EntityManager entityManager;
+
+    private final CachedCount bookCount;
+
+    private final TitleIndex titleIndex = new TitleIndex();
+
+    private final SingleFlight<String, Optional<BookEntity>> bookLoads;
+
+    public BookServiceImpl(
+            BookRepository bookRepository,
+            AuthorService authorService,
+            EntityManager entityManager,
+            PaginationProperties paginationProperties,
+            MeterRegistry meterRegistry
+    ) {
         this.bookRepository = bookRepository;
+        this.authorService = authorService;
+        this.entityManager = entityManager;
+        this.bookCount = CachedCount.of(paginationProperties, bookRepository::estimateCount, bookRepository::count);
+        this.bookLoads = new SingleFlight<>("books", meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public boolean upsert(String isbn, BookEntity book) {
+        book.setIsbn(isbn);
+        return upsertBooks(List.of(book)).contains(isbn);
+    }
+
+    @Override
+    @Transactional
+    public Set<String> upsertAll(List<BookEntity> books) {
+        return upsertBooks(books);
     }
 
     @Override
-    public BookEntity createUpdateBook(String isbn, BookEntity book) {
+    @Transactional
+    public boolean update(String isbn, BookEntity book, long expectedVersion) {
         book.setIsbn(isbn);
-        return bookRepository.save(book);
+        saveNewAuthors(List.of(book));
+        boolean updated = bookRepository.updateIfVersion(book, expectedVersion);
+        SingleFlight.invalidateAfterCommit();
+        if (updated) {
+            indexAfterCommit(List.of(book));
+        }
+        return updated;
+    }
+
+    private Set<String> upsertBooks(List<BookEntity> books) {
+        saveNewAuthors(books);
+        Set<String> created = bookRepository.upsertAll(books);
+        bookCount.invalidateAfterCommit();
+        SingleFlight.invalidateAfterCommit();
+        indexAfterCommit(books);
+        return created;
+    }
+
+    private void indexAfterCommit(List<BookEntity> books) {
+        Map<String, String> titles = new HashMap<>();
+        books.forEach(book -> titles.put(book.getIsbn(), book.getTitle()));
+        titleIndex.putAfterCommit(titles);
+    }
+
+    private void saveNewAuthors(List<BookEntity> books) {
+        List<AuthorEntity> newAuthors = books.stream()
+                .map(BookEntity::getAuthorEntity)
+                .filter(author -> author != null && author.getId() == null)
+                .toList();
+        if (!newAuthors.isEmpty()) {
+            authorService.saveAll(newAuthors);
+            // Books are written through JDBC, so new authors must be inserted first.
+            entityManager.flush();
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookEntity> findAll() {
         return StreamSupport.stream(bookRepository
                 .findAll()
@@ -37,34 +132,133 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
-    public Page<BookEntity> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<BookDto> findAll(Pageable pageable) {
+        Slice<BookDto> books = bookRepository.findAllDtos(pageable);
+        return PageableExecutionUtils.getPage(books.getContent(), pageable, bookCount::get);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDto> findSlice(Pageable pageable) {
+        return bookRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookDto> findAll(KeysetScrollPosition position, Sort sort, int size) {
+        Map<String, Object> keys = position.getKeys();
+        String afterIsbn = position.isInitial() ? "" : (String) keys.get("isbn");
+        if (sort.getOrderFor("title") == null) {
+            return bookRepository.findDtosAfter(afterIsbn, Limit.of(size));
+        }
+
+        // Keyset predicates never match NULL titles, so untitled books are scrolled
+        // separately after the titled ones, matching the NULLS LAST sort order.
+        if (keys.containsKey("title") && keys.get("title") == null) {
+            return bookRepository.findUntitledDtosAfter(afterIsbn, Limit.of(size));
+        }
+
+        String afterTitle = position.isInitial() ? "" : (String) keys.get("title");
+        List<BookDto> books = bookRepository.findTitledDtosAfter(afterTitle, afterIsbn, Limit.of(size));
+        if (books.size() < size) {
+            books = new ArrayList<>(books);
+            books.addAll(bookRepository.findUntitledDtosAfter("", Limit.of(size - books.size())));
+        }
+        return books;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<BookDto> consumer) {
+        try (Stream<BookDto> books = bookRepository.streamDtos()) {
+            books.forEach(consumer);
+        }
+    }
+
+    // Not transactional: callers waiting for a shared load must not hold a connection meanwhile. Requests pinned
+    // to the primary load on their own, so they never share a load that a replica served.
     @Override
     public Optional<BookEntity> findOne(String isbn) {
-        return bookRepository.findById(isbn);
+        if (ReadRouting.isPinnedToPrimary()) {
+            return bookRepository.findById(isbn);
+        }
+        return bookLoads.load(isbn, () -> bookRepository.findById(isbn));
+    }
+
+    @Override
+    public Optional<BookVersion> findVersion(String isbn) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(BookEntity.class, isbn)) {
+            return bookRepository.findById(isbn).map(book -> new BookVersion(book.getVersion(),
+                    book.getAuthorEntity() == null ? null : book.getAuthorEntity().getVersion()));
+        }
+        return bookRepository.findVersionByIsbn(isbn);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isExists(String isbn) {
         return bookRepository.existsById(isbn);
     }
 
     @Override
-    public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
-        bookEntity.setIsbn(isbn);
+    public Optional<BookEntity> partialUpdate(String isbn, BookEntity bookEntity, Long expectedVersion) {
+        if (bookEntity.getTitle() == null) {
+            return bookRepository.findById(isbn);
+        }
+
+        Optional<BookEntity> updatedBook = bookRepository.patch(isbn, bookEntity, expectedVersion);
+        SingleFlight.invalidateAfterCommit();
+        if (updatedBook.isEmpty() && expectedVersion != null && bookRepository.existsById(isbn)) {
+            throw new OptimisticLockingFailureException("Book " + isbn + " has changed");
+        }
+        updatedBook.ifPresent(book -> indexAfterCommit(List.of(book)));
+        return updatedBook;
+    }
 
-        return bookRepository.findById(isbn).map(existingBook -> {
-            Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
-            return bookRepository.save(existingBook);
-        }).orElseThrow(
-                () -> new RuntimeException("Book does not exist")
-        );
+    @Override
+    public List<BookTitleDto> search(String query, int limit) {
+        return titleIndex.search(query, limit);
+    }
+
+    @Override
+    public List<BookTitleDto> suggest(String prefix, int limit) {
+        return titleIndex.suggest(prefix, limit);
+    }
+
+    // Runs before the web server starts accepting requests, so searches never see a partial index and no write can
+    // commit while the snapshot is applied. Not read-only, so it reads the primary: a lagging replica would leave
+    // writes out of the index for good.
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        try (Stream<BookTitleDto> titles = bookRepository.streamTitles()) {
+            titles.forEach(book -> titleIndex.put(book.getIsbn(), book.getTitle()));
+        }
+    }
+
+    @Override
+    public int delete(String isbn) {
+        int deleted = bookRepository.deleteByIsbns(List.of(isbn));
+        bookCount.invalidate();
+        SingleFlight.invalidateAfterCommit();
+        titleIndex.remove(isbn);
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAll(Collection<String> isbns) {
+        int deleted = bookRepository.deleteByIsbns(isbns);
+        bookCount.invalidateAfterCommit();
+        SingleFlight.invalidateAfterCommit();
+        titleIndex.removeAfterCommit(isbns);
+        return deleted;
     }
 
     @Override
-    public void delete(String isbn) {
-        bookRepository.deleteById(isbn);
+    @Transactional
+    public int deleteByAuthor(Long authorId) {
+        return deleteAll(bookRepository.findIsbnsByAuthorId(authorId));
     }
 }
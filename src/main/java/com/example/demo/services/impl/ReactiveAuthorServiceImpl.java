@@ -0,0 +1,36 @@
+package com.example.demo.services.impl;
+
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.repositories.ReactiveAuthorRepository;
+import com.example.demo.services.ReactiveAuthorService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "url")
+public class ReactiveAuthorServiceImpl implements ReactiveAuthorService {
+
+    private final ReactiveAuthorRepository authorRepository;
+
+    public ReactiveAuthorServiceImpl(ReactiveAuthorRepository authorRepository) {
+        this.authorRepository = authorRepository;
+    }
+
+    @Override
+    public Mono<AuthorEntity> findOne(Long id) {
+        return authorRepository.findById(id);
+    }
+
+    @Override
+    public Flux<AuthorEntity> findAll(Long after, int limit) {
+        return authorRepository.findAllAfter(after, limit);
+    }
+
+    @Override
+    public Flux<AuthorEntity> streamAll() {
+        return authorRepository.streamAll();
+    }
+
+}
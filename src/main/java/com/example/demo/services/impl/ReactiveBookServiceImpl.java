@@ -0,0 +1,36 @@
+package com.example.demo.services.impl;
+
+import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.repositories.ReactiveBookRepository;
+import com.example.demo.services.ReactiveBookService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "url")
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final ReactiveBookRepository bookRepository;
+
+    public ReactiveBookServiceImpl(ReactiveBookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public Mono<BookEntity> findOne(String isbn) {
+        return bookRepository.findByIsbn(isbn);
+    }
+
+    @Override
+    public Flux<BookEntity> findAll(String after, int limit) {
+        return bookRepository.findAllAfter(after, limit);
+    }
+
+    @Override
+    public Flux<BookEntity> streamAll() {
+        return bookRepository.streamAll();
+    }
+
+}
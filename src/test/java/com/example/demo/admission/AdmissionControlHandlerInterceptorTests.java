@@ -0,0 +1,97 @@
+package com.example.demo.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdmissionControlHandlerInterceptorTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testThatRequestsOverTheLimitAreShedWith503AndRetryAfter() throws Exception {
+        AdmissionControlHandlerInterceptor underTest = new AdmissionControlHandlerInterceptor(
+                meterRegistry, 1, 2, 0, Duration.ofSeconds(1), Duration.ofSeconds(2));
+        MockHttpServletRequest admitted = new MockHttpServletRequest();
+        assertThat(underTest.preHandle(admitted, new MockHttpServletResponse(), handler(new Books()))).isTrue();
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        assertThat(underTest.preHandle(new MockHttpServletRequest(), shed, handler(new Books()))).isFalse();
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(meterRegistry.get("app.admission.rejected").tag("controller", "Books").counter().count()).isEqualTo(1);
+
+        assertThat(underTest.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new Authors()))).isTrue();
+
+        underTest.afterCompletion(admitted, new MockHttpServletResponse(), handler(new Books()), null);
+        assertThat(underTest.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new Books()))).isTrue();
+    }
+
+    @Test
+    public void testThatQueuedRequestsWaitUntilTheirDeadline() throws Exception {
+        AdmissionControlHandlerInterceptor underTest = new AdmissionControlHandlerInterceptor(
+                meterRegistry, 1, 2, 1, Duration.ofMillis(100), Duration.ofSeconds(1));
+        MockHttpServletRequest admitted = new MockHttpServletRequest();
+        assertThat(underTest.preHandle(admitted, new MockHttpServletResponse(), handler(new Books()))).isTrue();
+
+        assertThat(underTest.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new Books()))).isFalse();
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return underTest.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new Books()));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(20);
+        underTest.afterCompletion(admitted, new MockHttpServletResponse(), handler(new Books()), null);
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testThatAllControllersTogetherAreLimitedToTheConnectionPool() throws Exception {
+        AdmissionControlHandlerInterceptor underTest = new AdmissionControlHandlerInterceptor(
+                meterRegistry, 2, 2, 0, Duration.ofMillis(100), Duration.ofSeconds(1));
+        MockHttpServletRequest admitted = new MockHttpServletRequest();
+        assertThat(underTest.preHandle(admitted, new MockHttpServletResponse(), handler(new Books()))).isTrue();
+        assertThat(underTest.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new Authors()))).isTrue();
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        assertThat(underTest.preHandle(new MockHttpServletRequest(), shed, handler(new Authors()))).isFalse();
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(meterRegistry.get("app.admission.active").tag("controller", "Authors").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.admission.active").tag("controller", "all").gauge().value()).isEqualTo(2);
+
+        underTest.afterCompletion(admitted, new MockHttpServletResponse(), handler(new Books()), null);
+        assertThat(underTest.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler(new Authors()))).isTrue();
+    }
+
+    private static HandlerMethod handler(Object controller) {
+        try {
+            return new HandlerMethod(controller, controller.getClass().getMethod("list"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Books {
+        public void list() {
+        }
+    }
+
+    public static class Authors {
+        public void list() {
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.demo.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight<String, String> underTest = new SingleFlight<>("books", meterRegistry);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testThatConcurrentLoadsOfTheSameKeyShareOneLoad() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> underTest.load("isbn", this::blockingLoad));
+        awaitLoads(1);
+
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            followers.add(CompletableFuture.supplyAsync(() -> underTest.load("isbn", this::blockingLoad)));
+        }
+        while (shared() < 4) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("loaded-1");
+        for (CompletableFuture<String> follower : followers) {
+            assertThat(follower.get(1, TimeUnit.SECONDS)).isEqualTo("loaded-1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.single-flight.shared.ratio").tag("name", "books").gauge().value()).isEqualTo(0.8);
+    }
+
+    @Test
+    public void testThatCallersArrivingAfterAWriteDoNotShareTheOlderLoad() throws Exception {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> underTest.load("isbn", this::blockingLoad));
+        awaitLoads(1);
+
+        SingleFlight.invalidateAfterCommit();
+        CompletableFuture<String> afterWrite = CompletableFuture.supplyAsync(() -> underTest.load("isbn", this::blockingLoad));
+        awaitLoads(2);
+        release.countDown();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("loaded-1");
+        assertThat(afterWrite.get(1, TimeUnit.SECONDS)).isEqualTo("loaded-2");
+        assertThat(shared()).isZero();
+    }
+
+    private String blockingLoad() {
+        int load = loads.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return "loaded-" + load;
+    }
+
+    private void awaitLoads(int count) throws InterruptedException {
+        while (loads.get() < count) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double shared() {
+        return meterRegistry.get("app.single-flight.calls").tag("name", "books").tag("outcome", "shared").counter().count();
+    }
+
+}
@@ -1,20 +1,37 @@
 package com.example.demo.controllers;
 
 import com.example.demo.TestDataUtil;
+import com.example.demo.domain.dto.AuthorDto;
 import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.metrics.RequestMetricsHandlerInterceptor;
 import com.example.demo.services.AuthorService;
+import com.example.demo.services.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
@@ -28,11 +45,21 @@ public class AuthorControllerIntegrationTests {
 
     private final ObjectMapper objectMapper;
 
+    private final BookService bookService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final EntityManagerFactory entityManagerFactory;
+
     @Autowired
-    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService) {
+    public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService, BookService bookService,
+                                            MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
         this.mockMvc = mockMvc;
         this.objectMapper = new ObjectMapper();
         this.authorService = authorService;
+        this.bookService = bookService;
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Test
@@ -67,6 +94,92 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatCreateAuthorsBatchCreatesAuthorsAndReportsEachItem() throws Exception {
+        AuthorDto authorWithId = AuthorDto.builder().id(99L).name("Preassigned").age(50).build();
+        List<AuthorDto> authors = List.of(
+                AuthorDto.builder().name("Abigail Rose").age(80).build(),
+                authorWithId,
+                AuthorDto.builder().name("Thomas Cronin").age(44).build()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authors))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejected").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[0].status").value("CREATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[0].id").isNumber()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[1].status").value("REJECTED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[2].index").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[2].id").isNumber()
+        );
+
+        assertThat(authorService.findAll())
+                .extracting(AuthorEntity::getName)
+                .containsExactlyInAnyOrder("Abigail Rose", "Thomas Cronin");
+    }
+
+    @Test
+    public void testThatCreateAuthorsBatchAcceptsCbor() throws Exception {
+        List<AuthorDto> authors = List.of(
+                AuthorDto.builder().name("Abigail Rose").age(80).build(),
+                AuthorDto.builder().name("Thomas Cronin").age(44).build()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(authors))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(2)
+        );
+
+        assertThat(authorService.findAll())
+                .extracting(AuthorEntity::getName)
+                .containsExactlyInAnyOrder("Abigail Rose", "Thomas Cronin");
+    }
+
+    @Test
+    public void testThatCreateAuthorsBatchAcceptsNdjson() throws Exception {
+        String ndjson = "{\"name\":\"Abigail Rose\",\"age\":80}\n{\"name\":\"Jesse A Casey\",\"age\":24}\n";
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(2)
+        );
+
+        assertThat(authorService.findAll()).hasSize(2);
+    }
+
+    @Test
+    public void testThatCreateAuthorsBatchWithInvalidNdjsonReturnsHTTPStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/authors/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
     @Test
     public void testThatListAuthorsSuccessfullyReturnsHTTPStatus200() throws Exception {
         mockMvc.perform(
@@ -86,11 +199,110 @@ public class AuthorControllerIntegrationTests {
                 MockMvcRequestBuilders.get("/authors")
                         .contentType(MediaType.APPLICATION_JSON)
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$[0].id").isNumber()
+                MockMvcResultMatchers.jsonPath("$.content[0].id").isNumber()
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$[0].name").value("Abigail Rose")
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Abigail Rose")
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$[0].age").value(80)
+                MockMvcResultMatchers.jsonPath("$.content[0].age").value(80)
+        );
+    }
+
+    @Test
+    public void testThatStreamAuthorsStreamsAllAuthors() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+        authorService.save(TestDataUtil.createTestAuthorB());
+        authorService.save(TestDataUtil.createTestAuthorC());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(3)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].name").value("Jesse A Casey")
+        );
+    }
+
+    @Test
+    public void testThatListAuthorsPageReturnsPageOfAuthors() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+        authorService.save(TestDataUtil.createTestAuthorB());
+        authorService.save(TestDataUtil.createTestAuthorC());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?page=1&size=2&sort=id")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Jesse A Casey")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(3)
+        );
+    }
+
+    @Test
+    public void testThatListAuthorsWithSizeOnlyReturnsFirstPage() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+        authorService.save(TestDataUtil.createTestAuthorB());
+        authorService.save(TestDataUtil.createTestAuthorC());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?size=2&sort=name,desc")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Thomas Cronin")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(3)
+        );
+    }
+
+    @Test
+    public void testThatListAuthorsAfterCursorWalksAllAuthors() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+        authorService.save(TestDataUtil.createTestAuthorB());
+        authorService.save(TestDataUtil.createTestAuthorC());
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?after=&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Abigail Rose")
+        ).andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asString();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?size=2&after=" + nextCursor)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Jesse A Casey")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    public void testThatExportAuthorsAsCsvWritesHeaderAndRows() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/export?format=csv")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.header().string("Content-Disposition", "attachment; filename=\"authors.csv\"")
+        ).andExpect(
+                MockMvcResultMatchers.content().string("id,name,age\r\n" + savedAuthor.getId() + ",Abigail Rose,80\r\n")
         );
     }
 
@@ -106,6 +318,109 @@ public class AuthorControllerIntegrationTests {
                 MockMvcResultMatchers.status().isOk());
     }
 
+    @Test
+    public void testThatGetAuthorIsServedFromSecondLevelCacheAndRefreshedAfterUpdate() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER, Matchers.startsWith("statements=0;"))
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"UPDATED\"}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value("UPDATED")
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value("UPDATED")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER, Matchers.startsWith("statements=0;"))
+        );
+
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "authors", "result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    public void testThatGetAuthorReturnsHTTPStatus304WhenETagMatches() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0\"")
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotModified()
+        ).andExpect(
+                MockMvcResultMatchers.content().string("")
+        );
+    }
+
+    @Test
+    public void testThatPartialUpdateAuthorIssuesSingleStatement() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":81}")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value("Abigail Rose")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.age").value(81)
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\"")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER, Matchers.startsWith("statements=1;"))
+        );
+    }
+
+    @Test
+    public void testThatPartialUpdateAuthorWithStaleIfMatchReturnsHTTPStatus412() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content("{\"name\":\"FIRST\"}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\"")
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/authors/" + savedAuthor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content("{\"name\":\"SECOND\",\"age\":30}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isPreconditionFailed()
+        );
+
+        assertThat(authorService.findOne(savedAuthor.getId()))
+                .hasValueSatisfying(author -> assertThat(author.getName()).isEqualTo("FIRST"));
+    }
+
     @Test
     public void testThatGetAuthorReturnsHTTPStatus404WhenAuthorDoesNotExist() throws Exception {
         mockMvc.perform(
@@ -186,6 +501,33 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatFullUpdateLoadsAndUpdatesTheAuthorOnce() throws Exception {
+        AuthorEntity savedAuthorEntity = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long transactions = statistics.getTransactionCount();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/authors/" + savedAuthorEntity.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Thomas Cronin\",\"age\":44}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\"")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER, Matchers.startsWith("statements=2;"))
+        );
+
+        assertThat(statistics.getTransactionCount() - transactions).isEqualTo(1);
+
+        assertThat(authorService.findOne(savedAuthorEntity.getId())).hasValueSatisfying(author -> {
+            assertThat(author.getName()).isEqualTo("Thomas Cronin");
+            assertThat(author.getVersion()).isEqualTo(1);
+        });
+    }
+
     @Test
     public void testThatPartialUpdateExistingAuthorReturnsHTTPStatus200() throws Exception {
         AuthorEntity testAuthorEntityA = TestDataUtil.createTestAuthorEntityA();
@@ -249,4 +591,119 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatDeleteAuthorWithBooksReturnsHTTPStatus409() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert("978-1-2345-6789-0", TestDataUtil.createTestBookEntityA(savedAuthor));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/authors/" + savedAuthor.getId())
+        ).andExpect(
+                MockMvcResultMatchers.status().isConflict()
+        );
+    }
+
+    @Test
+    public void testThatDeleteAuthorsReturnsDeletedCount() throws Exception {
+        AuthorEntity authorA = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        AuthorEntity authorB = authorService.save(TestDataUtil.createTestAuthorB());
+        AuthorEntity authorC = authorService.save(TestDataUtil.createTestAuthorC());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(authorA.getId(), authorB.getId(), 999L)))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.deleted").value(2)
+        );
+        assertThat(authorService.findOne(authorA.getId())).isEmpty();
+        assertThat(authorService.findOne(authorC.getId())).isPresent();
+    }
+
+    @Test
+    public void testThatDeleteAuthorsWithoutBooksKeepsAuthorsWithBooks() throws Exception {
+        AuthorEntity authorWithBook = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        AuthorEntity authorWithoutBook = authorService.save(TestDataUtil.createTestAuthorB());
+        bookService.upsert("978-1-2345-6789-0", TestDataUtil.createTestBookEntityA(authorWithBook));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/authors?withoutBooks=true")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.deleted").value(1)
+        );
+        assertThat(authorService.findOne(authorWithBook.getId())).isPresent();
+        assertThat(authorService.findOne(authorWithoutBook.getId())).isEmpty();
+    }
+
+    @Test
+    public void testThatListAuthorsByAgeRangeFollowsCursorInAgeOrder() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+        AuthorEntity authorB = authorService.save(TestDataUtil.createTestAuthorB());
+        authorService.save(TestDataUtil.createTestAuthorC());
+        AuthorEntity authorD = authorService.save(AuthorEntity.builder().name("Ada Byron").age(44).build());
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?minAge=30&maxAge=79&size=1")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(authorB.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").isString()
+        ).andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asString();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?minAge=30&maxAge=79&size=1&after=" + nextCursor)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(authorD.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Ada Byron")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    public void testThatListAuthorsWithCursorMissingAKeyValueReturnsHTTPStatus400() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?minAge=30&maxAge=79&after=" + cursor("age&id=1"))
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?after=" + cursor("id"))
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void testThatListAuthorsByMaxAgeReturnsYoungestFirst() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+        authorService.save(TestDataUtil.createTestAuthorB());
+        authorService.save(TestDataUtil.createTestAuthorC());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?maxAge=50")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].age").value(24)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].age").value(44)
+        );
+    }
+
+    private static String cursor(String keys) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
@@ -1,21 +1,46 @@
 package com.example.demo.controllers;
 
 import com.example.demo.TestDataUtil;
+import com.example.demo.domain.dto.AuthorDto;
 import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.entities.AuthorEntity;
 import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.metrics.RequestMetricsHandlerInterceptor;
+import com.example.demo.serialization.MediaTypes;
+import com.example.demo.services.AuthorService;
 import com.example.demo.services.BookService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hamcrest.Matchers;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
@@ -25,15 +50,29 @@ public class BookControllerIntegrationTests {
 
     private final BookService bookService;
 
+    private final AuthorService authorService;
+
     private final MockMvc mockMvc;
 
     private final ObjectMapper objectMapper;
 
+    private final Statistics statistics;
+
+    private final MeterRegistry meterRegistry;
+
+    private final JdbcTemplate jdbcTemplate;
+
     @Autowired
-    public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService) {
+    public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService, AuthorService authorService,
+                                          EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry,
+                                          JdbcTemplate jdbcTemplate) {
         this.mockMvc = mockMvc;
         this.objectMapper = new ObjectMapper();
         this.bookService = bookService;
+        this.authorService = authorService;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Test
@@ -50,6 +89,287 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatCreateUpdateBookReturnsThePersistedBookWithETag() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        BookDto bookDto = TestDataUtil.createTestBookDtoA(AuthorDto.builder().id(savedAuthor.getId()).build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0.0\"")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.name").value("Abigail Rose")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.age").value(80)
+        );
+
+        bookDto.setTitle("The Shadow in The Cellar");
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1.0\"")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("The Shadow in The Cellar")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.name").value("Abigail Rose")
+        );
+    }
+
+    @Test
+    public void testThatCreateUpdateBookCreatesNewAuthorOnlyWhenRequested() throws Exception {
+        BookDto bookDto = TestDataUtil.createTestBookDtoA(AuthorDto.builder().name("Abigail Rose").age(80).build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+        assertThat(bookService.isExists(bookDto.getIsbn())).isFalse();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn() + "?createAuthors=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.id").isNumber()
+        );
+
+        assertThat(bookService.findOne(bookDto.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("Abigail Rose"));
+    }
+
+    @Test
+    public void testThatBookWritesReferenceExistingAuthorsWithoutWritingThem() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        BookDto bookA = TestDataUtil.createTestBookDtoA(AuthorDto.builder().id(savedAuthor.getId()).name("CHANGED").build());
+        BookDto bookB = BookDto.builder().isbn("978-1-2345-6789-1").title("Beyond the Horizon")
+                .author(AuthorDto.builder().name("Thomas Cronin").build()).build();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookA))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookA, bookB)))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[0].status").value("UPDATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[1].error").value("Author id is missing")
+        );
+
+        assertThat(authorService.findOne(savedAuthor.getId())).hasValueSatisfying(author -> {
+            assertThat(author.getName()).isEqualTo("Abigail Rose");
+            assertThat(author.getVersion()).isZero();
+        });
+        assertThat(authorService.findAll()).hasSize(1);
+    }
+
+    @Test
+    public void testThatCreateUpdateBookWithUnknownAuthorReturnsHTTPStatus400() throws Exception {
+        BookDto bookDto = TestDataUtil.createTestBookDtoA(AuthorDto.builder().id(999L).build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void testThatGetBookReturnsUpsertedTitleAfterCachedRead() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/" + testBookA.getIsbn()));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER, Matchers.startsWith("statements=0;"))
+        );
+
+        BookDto updatedBook = TestDataUtil.createTestBookDtoA(null);
+        updatedBook.setTitle("UPDATED");
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + testBookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedBook))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("UPDATED")
+        );
+    }
+
+    @Test
+    public void testThatGetBookReturnsHTTPStatus304UntilBookChanges() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookA.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0.0\"")
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotModified()
+        );
+
+        BookDto updatedBook = TestDataUtil.createTestBookDtoA(null);
+        updatedBook.setTitle("UPDATED");
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + testBookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedBook))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/" + testBookA.getIsbn())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0.0\"")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\"")
+        );
+    }
+
+    @Test
+    public void testThatPartialUpdateBookIssuesSingleStatement() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"UPDATED\"}")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("UPDATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.name").value("Abigail Rose")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1.0\"")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER, Matchers.startsWith("statements=1;"))
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/" + testBookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0.0\"")
+                        .content("{\"title\":\"STALE\"}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isPreconditionFailed()
+        );
+    }
+
+    @Test
+    public void testThatCreateUpdateBookHonoursIfMatch() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+        BookDto updatedBook = TestDataUtil.createTestBookDtoA(null);
+        updatedBook.setTitle("UPDATED");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + testBookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .content(objectMapper.writeValueAsString(updatedBook))
+        ).andExpect(
+                MockMvcResultMatchers.status().isPreconditionFailed()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + testBookA.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content(objectMapper.writeValueAsString(updatedBook))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/978-0-0000-0000-0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .content(objectMapper.writeValueAsString(updatedBook))
+        ).andExpect(
+                MockMvcResultMatchers.status().isPreconditionFailed()
+        );
+
+        assertThat(bookService.findVersion(testBookA.getIsbn()))
+                .hasValueSatisfying(version -> assertThat(version.version()).isEqualTo(1));
+        assertThat(bookService.isExists("978-0-0000-0000-0")).isFalse();
+    }
+
+    @Test
+    public void testThatUpsertBooksReportsCreatedUpdatedAndRejectedItems() throws Exception {
+        BookEntity existingBook = TestDataUtil.createTestBookA(null);
+        bookService.upsert(existingBook.getIsbn(), existingBook);
+
+        BookDto updatedBook = BookDto.builder().isbn(existingBook.getIsbn()).title("UPDATED").build();
+        BookDto newBook = BookDto.builder().isbn("978-1-2345-6789-1").title("Beyond the Horizon")
+                .author(AuthorDto.builder().name("Thomas Cronin").age(44).build()).build();
+        BookDto duplicateBook = BookDto.builder().isbn("978-1-2345-6789-1").title("Duplicate").build();
+        BookDto unknownAuthorBook = BookDto.builder().isbn("978-1-2345-6789-2").title("The Last Ember")
+                .author(AuthorDto.builder().id(999L).build()).build();
+        BookDto missingIsbnBook = BookDto.builder().title("No ISBN").build();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/books?createAuthors=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                List.of(updatedBook, newBook, duplicateBook, unknownAuthorBook, missingIsbnBook)))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.created").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.updated").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejected").value(3)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[0].status").value("UPDATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[1].status").value("CREATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[2].error").value("Duplicate isbn in request")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[3].error").value("Unknown author id 999")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.items[4].status").value("REJECTED")
+        );
+
+        assertThat(bookService.findOne(existingBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("UPDATED"));
+        assertThat(bookService.findOne(newBook.getIsbn()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthorEntity().getName()).isEqualTo("Thomas Cronin"));
+        assertThat(bookService.isExists(unknownAuthorBook.getIsbn())).isFalse();
+    }
+
     @Test
     public void testThatCreateBookSuccessfullyReturnsCreatedUpdateBook() throws Exception {
         BookDto bookDto = TestDataUtil.createTestBookDtoA(null);
@@ -78,7 +398,7 @@ public class BookControllerIntegrationTests {
     @Test
     public void testThatListBookSuccessfullyReturnsBook() throws Exception {
         BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
-        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/books")
@@ -90,10 +410,329 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatListBooksWithoutCountReturnsSliceWithoutTotals() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?count=false")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookEntityA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.last").value(true)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist()
+        );
+    }
+
+    @Test
+    public void testThatListBooksTotalElementsIsRefreshedAfterWrites() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+        BookEntity testBookB = TestDataUtil.createTestBookB(null);
+        bookService.upsert(testBookB.getIsbn(), testBookB);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=1")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        );
+
+        BookEntity testBookC = TestDataUtil.createTestBookC(null);
+        bookService.upsert(testBookC.getIsbn(), testBookC);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=1")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(3)
+        );
+
+        bookService.delete(testBookC.getIsbn());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=1")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        );
+    }
+
+    @Test
+    public void testThatListBooksAfterCursorWalksAllBooksInIsbnOrder() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+        BookEntity testBookB = TestDataUtil.createTestBookB(null);
+        bookService.upsert(testBookB.getIsbn(), testBookB);
+        BookEntity testBookC = TestDataUtil.createTestBookC(null);
+        bookService.upsert(testBookC.getIsbn(), testBookC);
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].isbn").value(testBookB.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").isString()
+        ).andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asString();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=2&after=" + nextCursor)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(testBookC.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    public void testThatListBooksAfterCursorSortsByTitleThenIsbn() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+        BookEntity testBookB = TestDataUtil.createTestBookB(null);
+        bookService.upsert(testBookB.getIsbn(), testBookB);
+        BookEntity testBookC = TestDataUtil.createTestBookC(null);
+        bookService.upsert(testBookC.getIsbn(), testBookC);
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=&size=1&sort=title")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].title").value("Beyond the Horizon")
+        ).andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asString();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=1&sort=title&after=" + nextCursor)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].title").value("The Last Ember")
+        );
+    }
+
+    @Test
+    public void testThatListBooksPageUsesFixedNumberOfStatementsRegardlessOfAuthors() throws Exception {
+        List<AuthorEntity> authors = List.of(
+                TestDataUtil.createTestAuthorEntityA(), TestDataUtil.createTestAuthorB(), TestDataUtil.createTestAuthorC());
+        List<BookEntity> books = List.of(
+                TestDataUtil.createTestBookA(authors.get(0)), TestDataUtil.createTestBookB(authors.get(1)), TestDataUtil.createTestBookC(authors.get(2)));
+        books.forEach(book -> bookService.upsert(book.getIsbn(), book));
+
+        statistics.clear();
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=20")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[2].author.name").value(authors.get(2).getName())
+        );
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=20&count=false")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[2].author.name").value(authors.get(2).getName())
+        );
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=&size=20")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[2].author.name").value(authors.get(2).getName())
+        );
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatListBooksReportsRequestMetrics() throws Exception {
+        List<AuthorEntity> authors = List.of(
+                TestDataUtil.createTestAuthorEntityA(), TestDataUtil.createTestAuthorB(), TestDataUtil.createTestAuthorC());
+        List<BookEntity> books = List.of(
+                TestDataUtil.createTestBookA(authors.get(0)), TestDataUtil.createTestBookB(authors.get(1)), TestDataUtil.createTestBookC(authors.get(2)));
+        books.forEach(book -> bookService.upsert(book.getIsbn(), book));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?size=20&count=false")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER,
+                        Matchers.startsWith("statements=1; rows=3; entity-loads=0; flushes=0;"))
+        );
+
+        DistributionSummary statements = meterRegistry.get("app.requests.sql.statements")
+                .tags("method", "GET", "uri", "/books").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.requests.time").tags("uri", "/books", "phase", "serialization").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testThatListBooksAfterInvalidCursorReturnsHTTPStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void testThatListBooksNegotiatesCborWithTheJsonFields() throws Exception {
+        AuthorEntity testAuthorA = TestDataUtil.createTestAuthorEntityA();
+        BookEntity testBookA = TestDataUtil.createTestBookA(testAuthorA);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+
+        MvcResult json = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?page=0&size=10").accept(MediaType.APPLICATION_JSON)
+        ).andReturn();
+        MvcResult cbor = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?page=0&size=10").accept(MediaType.APPLICATION_CBOR)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+        ).andReturn();
+
+        assertThat(new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray()))
+                .isEqualTo(objectMapper.readTree(json.getResponse().getContentAsString()));
+        assertThat(cbor.getResponse().getContentAsByteArray().length)
+                .isLessThan(json.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testThatUpsertBooksAcceptsAndReturnsSmile() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        BookDto bookDto = TestDataUtil.createTestBookDtoA(AuthorDto.builder().id(savedAuthor.getId()).build());
+        SmileMapper smileMapper = new SmileMapper();
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.put("/books")
+                        .contentType(MediaTypes.APPLICATION_SMILE)
+                        .accept(MediaTypes.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(List.of(bookDto)))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaTypes.APPLICATION_SMILE)
+        ).andReturn();
+
+        JsonNode body = smileMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("items").get(0).get("status").asString()).isEqualTo("CREATED");
+        assertThat(bookService.findOne(bookDto.getIsbn())).isPresent();
+    }
+
+    @Test
+    public void testThatUpsertBooksReturnsTheSameTreeInJsonCborAndSmile() throws Exception {
+        String books = "[{\"title\":\"No ISBN\"}]";
+
+        JsonNode json = objectMapper.readTree(upsertBooks(books, MediaType.APPLICATION_JSON));
+        assertThat(new CBORMapper().readTree(upsertBooks(books, MediaType.APPLICATION_CBOR))).isEqualTo(json);
+        assertThat(new SmileMapper().readTree(upsertBooks(books, MediaTypes.APPLICATION_SMILE))).isEqualTo(json);
+    }
+
+    @Test
+    public void testThatExportBooksWritesOneJsonLinePerBook() throws Exception {
+        AuthorEntity testAuthorA = TestDataUtil.createTestAuthorEntityA();
+        BookEntity testBookA = TestDataUtil.createTestBookA(testAuthorA);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+        BookEntity testBookB = TestDataUtil.createTestBookB(null);
+        bookService.upsert(testBookB.getIsbn(), testBookB);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith("application/x-ndjson")
+        ).andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], BookDto.class).getAuthor().getName()).isEqualTo("Abigail Rose");
+        assertThat(objectMapper.readValue(lines[1], BookDto.class).getIsbn()).isEqualTo(testBookB.getIsbn());
+    }
+
+    @Test
+    public void testThatExportBooksAsCsvWritesHeaderAndRows() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        testBookA.setTitle("Commas, \"Quotes\"");
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export?format=csv")
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith("text/csv")
+        ).andExpect(
+                MockMvcResultMatchers.content().string(
+                        "isbn,title,author_id,author_name,author_age\r\n"
+                                + testBookA.getIsbn() + ",\"Commas, \"\"Quotes\"\"\",,,\r\n")
+        );
+    }
+
+    @Test
+    public void testThatExportBooksIsGzippedWhenAccepted() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip")
+        ).andReturn();
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(content).contains(testBookA.getIsbn()).endsWith("\n");
+        }
+    }
+
+    @Test
+    public void testThatExportBooksIsNotGzippedWhenRefused() throws Exception {
+        BookEntity testBookA = TestDataUtil.createTestBookA(null);
+        bookService.upsert(testBookA.getIsbn(), testBookA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *")
+        ).andExpect(
+                MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+        ).andExpect(
+                MockMvcResultMatchers.content().string(Matchers.containsString(testBookA.getIsbn()))
+        );
+    }
+
+    @Test
+    public void testThatExportBooksWithUnknownFormatReturnsHTTPStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export?format=xml")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
     @Test
     public void testThatGetBookReturnsHTTPStatus200WhenBookExists() throws Exception {
         BookEntity bookEntityA = TestDataUtil.createTestBookEntityA(null);
-        bookService.createUpdateBook(bookEntityA.getIsbn(), bookEntityA);
+        bookService.upsert(bookEntityA.getIsbn(), bookEntityA);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/books/" + bookEntityA.getIsbn())
@@ -118,15 +757,15 @@ public class BookControllerIntegrationTests {
     @Test
     public void testThatUpdateBookReturnsHTTPStatus200() throws Exception {
         BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
-        BookEntity savedBookEntity = bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
 
         BookDto testBookDtoA = TestDataUtil.createTestBookDtoA(null);
-        testBookDtoA.setIsbn(savedBookEntity.getIsbn());
+        testBookDtoA.setIsbn(testBookEntityA.getIsbn());
 
         String testBookDtoAJson = objectMapper.writeValueAsString(testBookDtoA);
 
         mockMvc.perform(
-                MockMvcRequestBuilders.put("/books/" + savedBookEntity.getIsbn())
+                MockMvcRequestBuilders.put("/books/" + testBookEntityA.getIsbn())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(testBookDtoAJson)
         ).andExpect(
@@ -137,16 +776,16 @@ public class BookControllerIntegrationTests {
     @Test
     public void testThatUpdateBookReturnsUpdateBook() throws Exception {
         BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
-        BookEntity savedBookEntity = bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
 
         BookDto testBookDtoA = TestDataUtil.createTestBookDtoA(null);
-        testBookDtoA.setIsbn(savedBookEntity.getIsbn());
+        testBookDtoA.setIsbn(testBookEntityA.getIsbn());
         testBookDtoA.setTitle("UPDATED");
 
         String testBookDtoAJson = objectMapper.writeValueAsString(testBookDtoA);
 
         mockMvc.perform(
-                MockMvcRequestBuilders.put("/books/" + savedBookEntity.getIsbn())
+                MockMvcRequestBuilders.put("/books/" + testBookEntityA.getIsbn())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(testBookDtoAJson)
         ).andExpect(
@@ -159,7 +798,7 @@ public class BookControllerIntegrationTests {
     @Test
     public void testThatPartialUpdateBookReturnsHTTPStatus200() throws Exception {
         BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
-        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
 
         BookDto testBookDtoA = TestDataUtil.createTestBookDtoA(null);
         testBookDtoA.setTitle("UPDATED");
@@ -176,7 +815,7 @@ public class BookControllerIntegrationTests {
     @Test
     public void testThatPartialUpdateBookReturnsUpdatedBook() throws Exception {
         BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
-        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
 
         BookDto testBookDtoA = TestDataUtil.createTestBookDtoA(null);
         testBookDtoA.setTitle("UPDATED");
@@ -205,7 +844,7 @@ public class BookControllerIntegrationTests {
     @Test
     public void testThatDeleteBookReturnsHTTPStatus204ForExistingBook() throws Exception {
         BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
-        bookService.createUpdateBook(testBookEntityA.getIsbn(), testBookEntityA);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.delete("/books/" + testBookEntityA.getIsbn())
@@ -215,4 +854,131 @@ public class BookControllerIntegrationTests {
         );
     }
 
+    @Test
+    public void testThatDeleteBookUsesASingleStatement() throws Exception {
+        BookEntity testBookEntityA = TestDataUtil.createTestBookEntityA(null);
+        bookService.upsert(testBookEntityA.getIsbn(), testBookEntityA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/books/" + testBookEntityA.getIsbn())
+        ).andExpect(
+                MockMvcResultMatchers.status().isNoContent()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(RequestMetricsHandlerInterceptor.DEBUG_HEADER, Matchers.startsWith("statements=1;"))
+        );
+        assertThat(bookService.isExists(testBookEntityA.getIsbn())).isFalse();
+    }
+
+    @Test
+    public void testThatDeleteBooksByIsbnReturnsDeletedCount() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        BookEntity bookA = TestDataUtil.createTestBookEntityA(savedAuthor);
+        BookEntity bookB = TestDataUtil.createTestBookB(savedAuthor);
+        BookEntity bookC = TestDataUtil.createTestBookC(savedAuthor);
+        bookService.upsertAll(List.of(bookA, bookB, bookC));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookA.getIsbn(), bookB.getIsbn(), "978-0-0000-0000-0")))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.deleted").value(2)
+        );
+        assertThat(bookService.isExists(bookA.getIsbn())).isFalse();
+        assertThat(bookService.isExists(bookB.getIsbn())).isFalse();
+        assertThat(bookService.isExists(bookC.getIsbn())).isTrue();
+    }
+
+    @Test
+    public void testThatDeleteBooksByAuthorOnlyDeletesThatAuthorsBooks() throws Exception {
+        AuthorEntity authorA = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        AuthorEntity authorB = authorService.save(TestDataUtil.createTestAuthorB());
+        BookEntity bookA = TestDataUtil.createTestBookEntityA(authorA);
+        BookEntity bookB = TestDataUtil.createTestBookB(authorA);
+        BookEntity bookC = TestDataUtil.createTestBookC(authorB);
+        bookService.upsertAll(List.of(bookA, bookB, bookC));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/books?authorId=" + authorA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.deleted").value(2)
+        );
+        assertThat(bookService.isExists(bookC.getIsbn())).isTrue();
+    }
+
+    @Test
+    public void testThatDeleteBooksWithoutIsbnsOrFilterReturnsHTTPStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete("/books")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    public void testThatSearchBooksFindsCreatedAndUpdatedTitles() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert("978-1-2345-6789-0", TestDataUtil.createTestBookEntityA(savedAuthor));
+        bookService.upsertAll(List.of(TestDataUtil.createTestBookB(savedAuthor), TestDataUtil.createTestBookC(savedAuthor)));
+        bookService.partialUpdate("978-1-2345-6789-2", BookEntity.builder().title("The First Ember").build(), null);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search?q=the ember")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value("978-1-2345-6789-2")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].title").value("The First Ember")
+        );
+    }
+
+    @Test
+    public void testThatSuggestBooksDropsDeletedTitles() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsertAll(List.of(TestDataUtil.createTestBookEntityA(savedAuthor), TestDataUtil.createTestBookB(savedAuthor)));
+        bookService.delete("978-1-2345-6789-0");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest?prefix=the sha")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(0)
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/suggest?prefix=hor")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].title").value("Beyond the Horizon")
+        );
+    }
+
+    @Test
+    public void testThatTitleIndexIsBuiltFromTheDatabaseBeforeServingRequests() throws Exception {
+        jdbcTemplate.update("INSERT INTO books (isbn, title) VALUES (?, ?)", "978-1-2345-6789-9", "Written Elsewhere");
+
+        ((SmartInitializingSingleton) bookService).afterSingletonsInstantiated();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/search?q=elsewhere")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].isbn").value("978-1-2345-6789-9")
+        );
+    }
+
+    private byte[] upsertBooks(String books, MediaType accept) throws Exception {
+        return mockMvc.perform(
+                MockMvcRequestBuilders.put("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(accept)
+                        .content(books)
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith(accept)
+        ).andReturn().getResponse().getContentAsByteArray();
+    }
+
 }
@@ -0,0 +1,32 @@
+package com.example.demo.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OptimisticLockingExceptionHandlerTests {
+
+    private final OptimisticLockingExceptionHandler underTest = new OptimisticLockingExceptionHandler();
+
+    @Test
+    public void testThatVersionConflictWithIfMatchReturnsHTTPStatus412() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/authors/1");
+        request.addHeader(HttpHeaders.IF_MATCH, "\"0\"");
+
+        assertThat(underTest.handleOptimisticLockingFailure(new ServletWebRequest(request)).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    public void testThatVersionConflictWithoutIfMatchReturnsHTTPStatus409() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/authors/1");
+
+        assertThat(underTest.handleOptimisticLockingFailure(new ServletWebRequest(request)).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+    }
+
+}
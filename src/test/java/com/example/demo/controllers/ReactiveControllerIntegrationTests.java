@@ -0,0 +1,130 @@
+package com.example.demo.controllers;
+
+import com.example.demo.TestDataUtil;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.services.AuthorService;
+import com.example.demo.services.BookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ReactiveControllerIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final BookService bookService;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReactiveControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService, BookService bookService) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    public void testThatReactiveGetBookReturnsBookWithAuthor() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert("978-1-2345-6789-0", TestDataUtil.createTestBookEntityA(savedAuthor));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(start("/reactive/books/978-1-2345-6789-0"))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("The Shadow in The Attic")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.id").value(savedAuthor.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.name").value("Abigail Rose")
+        );
+    }
+
+    @Test
+    public void testThatReactiveGetAuthorReturnsHTTPStatus404WhenNoAuthorExists() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(start("/reactive/authors/99"))
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+
+    @Test
+    public void testThatReactiveListAuthorsFollowsCursorToLastPage() throws Exception {
+        AuthorEntity first = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        AuthorEntity second = authorService.save(TestDataUtil.createTestAuthorB());
+        AuthorEntity third = authorService.save(TestDataUtil.createTestAuthorC());
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(start("/reactive/authors?size=2"))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(first.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].id").value(second.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.size").value(2)
+        ).andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asString();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(start("/reactive/authors?size=2&after=" + nextCursor))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(third.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.size").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    public void testThatReactiveStreamBooksWritesOneJsonLinePerBook() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert("978-1-2345-6789-0", TestDataUtil.createTestBookEntityA(savedAuthor));
+        bookService.upsert("978-1-2345-6789-1", TestDataUtil.createTestBookB(savedAuthor));
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(start("/reactive/books/stream"))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        ).andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode firstBook = objectMapper.readTree(lines[0]);
+        assertThat(firstBook.get("isbn").asString()).isEqualTo("978-1-2345-6789-0");
+        assertThat(firstBook.get("author").get("name").asString()).isEqualTo("Abigail Rose");
+    }
+
+    private MvcResult start(String uri) throws Exception {
+        return mockMvc.perform(
+                MockMvcRequestBuilders.get(uri)
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.example.demo.mappers;
+
+import com.example.demo.TestDataUtil;
+import com.example.demo.config.MapperConfig;
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.domain.entities.BookEntity;
+import com.example.demo.mappers.impl.AuthorMapperImpl;
+import com.example.demo.mappers.impl.BookMapper;
+import com.example.demo.mappers.impl.DirectAuthorMapper;
+import com.example.demo.mappers.impl.DirectBookMapper;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MapperEquivalenceTests {
+
+    private final Mapper<AuthorEntity, AuthorDto> reflectiveAuthorMapper;
+
+    private final Mapper<BookEntity, BookDto> reflectiveBookMapper;
+
+    private final Mapper<AuthorEntity, AuthorDto> directAuthorMapper;
+
+    private final Mapper<BookEntity, BookDto> directBookMapper;
+
+    public MapperEquivalenceTests() {
+        ModelMapper modelMapper = new MapperConfig().modelMapper();
+        this.reflectiveAuthorMapper = new AuthorMapperImpl(modelMapper);
+        this.reflectiveBookMapper = new BookMapper(modelMapper);
+        this.directAuthorMapper = new DirectAuthorMapper();
+        this.directBookMapper = new DirectBookMapper(directAuthorMapper);
+    }
+
+    @Test
+    public void testThatAuthorEntitiesMapToTheSameDto() {
+        for (AuthorEntity authorEntity : authorEntities()) {
+            assertThat(directAuthorMapper.mapTo(authorEntity))
+                    .usingRecursiveComparison()
+                    .isEqualTo(reflectiveAuthorMapper.mapTo(authorEntity));
+        }
+    }
+
+    @Test
+    public void testThatAuthorDtosMapToTheSameEntity() {
+        for (AuthorEntity authorEntity : authorEntities()) {
+            AuthorDto authorDto = reflectiveAuthorMapper.mapTo(authorEntity);
+            assertThat(directAuthorMapper.mapFrom(authorDto))
+                    .usingRecursiveComparison()
+                    .isEqualTo(reflectiveAuthorMapper.mapFrom(authorDto));
+        }
+    }
+
+    @Test
+    public void testThatBookEntitiesMapToTheSameDto() {
+        for (BookEntity bookEntity : bookEntities()) {
+            assertThat(directBookMapper.mapTo(bookEntity))
+                    .usingRecursiveComparison()
+                    .isEqualTo(reflectiveBookMapper.mapTo(bookEntity));
+        }
+    }
+
+    @Test
+    public void testThatBookDtosMapToTheSameEntity() {
+        for (BookEntity bookEntity : bookEntities()) {
+            BookDto bookDto = reflectiveBookMapper.mapTo(bookEntity);
+            assertThat(directBookMapper.mapFrom(bookDto))
+                    .usingRecursiveComparison()
+                    .isEqualTo(reflectiveBookMapper.mapFrom(bookDto));
+        }
+    }
+
+    @Test
+    public void testThatBookAuthorIsMappedToDtoAuthor() {
+        AuthorEntity authorEntity = TestDataUtil.createTestAuthorEntityA();
+        authorEntity.setId(7L);
+
+        BookDto bookDto = directBookMapper.mapTo(TestDataUtil.createTestBookEntityA(authorEntity));
+
+        assertThat(bookDto.getAuthor().getId()).isEqualTo(7L);
+        assertThat(bookDto.getAuthor().getName()).isEqualTo("Abigail Rose");
+        assertThat(directBookMapper.mapFrom(bookDto).getAuthorEntity())
+                .usingRecursiveComparison()
+                .isEqualTo(authorEntity);
+    }
+
+    private static List<AuthorEntity> authorEntities() {
+        AuthorEntity savedAuthor = TestDataUtil.createTestAuthorB();
+        savedAuthor.setId(42L);
+
+        return List.of(
+                TestDataUtil.createTestAuthorEntityA(),
+                savedAuthor,
+                AuthorEntity.builder().name("Nameless Age").build(),
+                AuthorEntity.builder().id(3L).age(30).build(),
+                new AuthorEntity()
+        );
+    }
+
+    private static List<BookEntity> bookEntities() {
+        AuthorEntity savedAuthor = TestDataUtil.createTestAuthorC();
+        savedAuthor.setId(9L);
+
+        return List.of(
+                TestDataUtil.createTestBookEntityA(TestDataUtil.createTestAuthorEntityA()),
+                TestDataUtil.createTestBookB(savedAuthor),
+                TestDataUtil.createTestBookC(null),
+                BookEntity.builder().isbn("978-0-0000-0000-0").build(),
+                BookEntity.builder().title("Untitled ISBN").authorEntity(AuthorEntity.builder().id(5L).build()).build(),
+                new BookEntity()
+        );
+    }
+
+}
@@ -54,10 +54,11 @@ public class AuthorEntityRepositoryIntegrationTests {
         AuthorEntity authorEntityA = TestDataUtil.createTestAuthorEntityA();
         undertest.save(authorEntityA);
         authorEntityA.setName("UPDATED");
-        undertest.save(authorEntityA);
+        AuthorEntity updatedAuthor = undertest.save(authorEntityA);
         Optional<AuthorEntity> result = undertest.findById(authorEntityA.getId());
         assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(authorEntityA);
+        assertThat(result.get()).isEqualTo(updatedAuthor);
+        assertThat(result.get().getVersion()).isEqualTo(1);
     }
 
     @Test
@@ -10,7 +10,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -21,14 +23,17 @@ public class BookEntityRepositoryIntegrationTests {
 
     private final BookRepository underTest;
 
+    private final AuthorRepository authorRepository;
+
     @Autowired
-    public BookEntityRepositoryIntegrationTests(BookRepository underTest) {
+    public BookEntityRepositoryIntegrationTests(BookRepository underTest, AuthorRepository authorRepository) {
         this.underTest = underTest;
+        this.authorRepository = authorRepository;
     }
 
     @Test
     public void testThatBookCanBeCreatedAndRecalled() {
-        AuthorEntity authorEntity = TestDataUtil.createTestAuthorEntityA();
+        AuthorEntity authorEntity = authorRepository.save(TestDataUtil.createTestAuthorEntityA());
 
         BookEntity bookEntity = TestDataUtil.createTestBookEntityA(authorEntity);
         underTest.save(bookEntity);
@@ -45,7 +50,7 @@ public class BookEntityRepositoryIntegrationTests {
 
     @Test
     public void testThatMultipleBooksCanBeCreatedAndRecalled() {
-        AuthorEntity authorEntity = TestDataUtil.createTestAuthorEntityA();
+        AuthorEntity authorEntity = authorRepository.save(TestDataUtil.createTestAuthorEntityA());
 
         BookEntity bookEntityA = TestDataUtil.createTestBookA(authorEntity);
         underTest.save(bookEntityA);
@@ -65,7 +70,7 @@ public class BookEntityRepositoryIntegrationTests {
 
     @Test
     public void testThatBookCanBeUpdated() {
-        AuthorEntity authorEntity = TestDataUtil.createTestAuthorEntityA();
+        AuthorEntity authorEntity = authorRepository.save(TestDataUtil.createTestAuthorEntityA());
 
         BookEntity bookEntity = TestDataUtil.createTestBookEntityA(authorEntity);
         underTest.save(bookEntity);
@@ -81,7 +86,7 @@ public class BookEntityRepositoryIntegrationTests {
 
     @Test
     public void testThatBookCanBeDeleted() {
-        AuthorEntity authorEntity = TestDataUtil.createTestAuthorEntityA();
+        AuthorEntity authorEntity = authorRepository.save(TestDataUtil.createTestAuthorEntityA());
 
         BookEntity bookEntity = TestDataUtil.createTestBookEntityA(authorEntity);
         underTest.save(bookEntity);
@@ -92,4 +97,24 @@ public class BookEntityRepositoryIntegrationTests {
         assertThat(result).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testThatUpsertAllInsertsNewBooksAndUpdatesExistingOnes() {
+        AuthorEntity authorEntity = authorRepository.save(TestDataUtil.createTestAuthorEntityA());
+        BookEntity bookEntityA = underTest.save(TestDataUtil.createTestBookA(authorEntity));
+
+        BookEntity updatedBookA = TestDataUtil.createTestBookA(bookEntityA.getAuthorEntity());
+        updatedBookA.setTitle("UPDATED");
+        BookEntity bookEntityB = TestDataUtil.createTestBookB(null);
+
+        Set<String> created = underTest.upsertAll(List.of(updatedBookA, bookEntityB));
+
+        assertThat(created).containsExactly(bookEntityB.getIsbn());
+        assertThat(underTest.findById(bookEntityA.getIsbn()))
+                .hasValueSatisfying(book -> {
+                    assertThat(book.getTitle()).isEqualTo("UPDATED");
+                    assertThat(book.getAuthorEntity().getName()).isEqualTo(authorEntity.getName());
+                });
+        assertThat(underTest.findById(bookEntityB.getIsbn())).isPresent();
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.example.demo.routing;
+
+import com.example.demo.TestDataUtil;
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.entities.AuthorEntity;
+import com.example.demo.services.AuthorService;
+import com.example.demo.services.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.datasource-routing.enabled=true",
+        "app.datasource-routing.replicas[0].url=" + ReadRoutingIntegrationTests.REPLICA_0,
+        "app.datasource-routing.replicas[1].url=" + ReadRoutingIntegrationTests.REPLICA_1,
+        "app.datasource-routing.primary-pin=1m"
+})
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ReadRoutingIntegrationTests {
+
+    static final String REPLICA_0 = "jdbc:h2:mem:replica0;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    static final String REPLICA_1 = "jdbc:h2:mem:replica1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final BookService bookService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReadRoutingIntegrationTests(MockMvc mockMvc, AuthorService authorService, BookService bookService,
+                                       JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    public void testThatReadsGoToReplicasUntilTheyCatchUp() throws Exception {
+        replicate();
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert("978-1-2345-6789-0", TestDataUtil.createTestBookEntityA(savedAuthor));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(
+                    MockMvcRequestBuilders.get("/books?after=")
+            ).andExpect(
+                    MockMvcResultMatchers.jsonPath("$.size").value(0)
+            );
+        }
+
+        replicate();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(
+                    MockMvcRequestBuilders.get("/books?after=")
+            ).andExpect(
+                    MockMvcResultMatchers.jsonPath("$.content[0].isbn").value("978-1-2345-6789-0")
+            );
+        }
+    }
+
+    @Test
+    public void testThatAgeRangeReadsGoToReplicas() throws Exception {
+        replicate();
+        authorService.save(TestDataUtil.createTestAuthorEntityA());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(
+                    MockMvcRequestBuilders.get("/authors?minAge=18")
+            ).andExpect(
+                    MockMvcResultMatchers.jsonPath("$.size").value(0)
+            );
+        }
+
+        replicate();
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/authors?minAge=18")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value("Abigail Rose")
+        );
+    }
+
+    @Test
+    public void testThatClientReadsItsOwnWritesFromThePrimary() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        replicate();
+        BookDto bookDto = TestDataUtil.createTestBookDtoA(AuthorDto.builder().id(savedAuthor.getId()).build());
+
+        MvcResult write = mockMvc.perform(
+                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDto))
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.cookie().exists(ReadRoutingHandlerInterceptor.PIN_COOKIE)
+        ).andReturn();
+        Cookie pin = write.getResponse().getCookie(ReadRoutingHandlerInterceptor.PIN_COOKIE);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=").cookie(pin)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(bookDto.getIsbn())
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.size").value(0)
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books?after=").cookie(new Cookie(ReadRoutingHandlerInterceptor.PIN_COOKIE, "0"))
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.size").value(0)
+        );
+    }
+
+    @Test
+    public void testThatReplicaReadsDoNotCacheRowsTheWriterReadsBack() throws Exception {
+        AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthorEntityA());
+        bookService.upsert("978-1-2345-6789-0", TestDataUtil.createTestBookEntityA(savedAuthor));
+        replicate();
+
+        MvcResult write = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/books/978-1-2345-6789-0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"The Shadow in The Cellar\"}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andReturn();
+        Cookie pin = write.getResponse().getCookie(ReadRoutingHandlerInterceptor.PIN_COOKIE);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(
+                    MockMvcRequestBuilders.get("/books/978-1-2345-6789-0")
+            ).andExpect(
+                    MockMvcResultMatchers.jsonPath("$.title").value("The Shadow in The Attic")
+            );
+        }
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/978-1-2345-6789-0").cookie(pin)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("The Shadow in The Cellar")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1.0\"")
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/978-1-2345-6789-0").cookie(pin)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0.0\"")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value("The Shadow in The Cellar")
+        );
+    }
+
+    @Test
+    public void testThatEveryPoolPublishesConnectionMetrics() throws Exception {
+        replicate();
+        mockMvc.perform(MockMvcRequestBuilders.get("/books?after="));
+
+        for (String pool : List.of("primary", "replica-0", "replica-1")) {
+            assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", pool).gauge().value()).isZero();
+            assertThat(meterRegistry.get("hikaricp.connections.active").tag("pool", pool).gauge()).isNotNull();
+            assertThat(meterRegistry.get("hikaricp.connections.idle").tag("pool", pool).gauge()).isNotNull();
+        }
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica-0").timer().count()).isPositive();
+    }
+
+    // Stands in for replication: copies the primary's current schema and rows to every replica.
+    private void replicate() throws SQLException {
+        List<String> script = jdbcTemplate.queryForList("SCRIPT", String.class).stream()
+                .filter(sql -> !sql.startsWith("CREATE USER"))
+                .toList();
+        for (String url : List.of(REPLICA_0, REPLICA_1)) {
+            try (Connection connection = DriverManager.getConnection(url, "sa", "password");
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                for (String sql : script) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+}
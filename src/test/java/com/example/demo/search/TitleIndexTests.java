@@ -0,0 +1,50 @@
+package com.example.demo.search;
+
+import com.example.demo.domain.dto.BookTitleDto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TitleIndexTests {
+
+    private final TitleIndex underTest;
+
+    public TitleIndexTests() {
+        this.underTest = new TitleIndex();
+        underTest.put("978-1-2345-6789-0", "The Shadow in The Attic");
+        underTest.put("978-1-2345-6789-1", "Beyond the Horizon");
+        underTest.put("978-1-2345-6789-2", "The Last Ember");
+    }
+
+    @Test
+    public void testThatSearchMatchesBooksContainingEveryToken() {
+        assertThat(underTest.search("the", 10)).extracting(BookTitleDto::getIsbn)
+                .containsExactly("978-1-2345-6789-0", "978-1-2345-6789-1", "978-1-2345-6789-2");
+        assertThat(underTest.search("THE attic!", 10)).extracting(BookTitleDto::getTitle)
+                .containsExactly("The Shadow in The Attic");
+        assertThat(underTest.search("the attic ember", 10)).isEmpty();
+        assertThat(underTest.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    public void testThatSuggestCompletesTheLastToken() {
+        assertThat(underTest.suggest("ho", 10)).extracting(BookTitleDto::getTitle)
+                .containsExactly("Beyond the Horizon");
+        assertThat(underTest.suggest("the la", 10)).extracting(BookTitleDto::getTitle)
+                .containsExactly("The Last Ember");
+        assertThat(underTest.suggest("t", 2)).hasSize(2);
+    }
+
+    @Test
+    public void testThatUpdatedAndRemovedTitlesLeaveTheIndex() {
+        underTest.put("978-1-2345-6789-0", "The Shadow in The Cellar");
+        underTest.remove("978-1-2345-6789-2");
+
+        assertThat(underTest.search("attic", 10)).isEmpty();
+        assertThat(underTest.search("cellar", 10)).extracting(BookTitleDto::getIsbn)
+                .containsExactly("978-1-2345-6789-0");
+        assertThat(underTest.suggest("emb", 10)).isEmpty();
+        assertThat(underTest.size()).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.example.demo.serialization;
+
+import com.example.demo.domain.dto.AuthorDto;
+import com.example.demo.domain.dto.BookDto;
+import com.example.demo.domain.dto.CursorPageDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DtoSerializationModuleTests {
+
+    private final ObjectMapper defaultMapper = JsonMapper.builder().build();
+
+    private final ObjectMapper underTest = JsonMapper.builder().addModule(new DtoSerializationModule()).build();
+
+    private final List<BookDto> books = List.of(
+            new BookDto("978-1-2345-6789-0", "The Shadow in The Attic", 1L, "Abigail \"Rose\"", 80),
+            new BookDto("978-1-2345-6789-1", null, null, null, null),
+            new BookDto("978-1-2345-6789-2", "Beyond the Horizon", 2L, null, null)
+    );
+
+    @Test
+    public void testThatDtosSerializeLikeTheDefaultSerializer() {
+        assertSameJson(books.getFirst());
+        assertSameJson(books.get(1));
+        assertSameJson(new AuthorDto(3L, "Thomas Cronin", 44));
+        assertSameJson(books);
+    }
+
+    @Test
+    public void testThatPageEnvelopesSerializeLikeTheDefaultSerializer() {
+        assertSameJson(new PageImpl<>(books, PageRequest.of(0, 3), 10));
+        assertSameJson(new PageImpl<>(List.of(), PageRequest.of(4, 3, Sort.by("title").descending()), 10));
+        assertSameJson(new SliceImpl<>(books, PageRequest.of(1, 3, Sort.by("isbn")), true));
+        assertSameJson(new CursorPageDto<>(books, 3, "aXNibj0x"));
+        assertSameJson(new CursorPageDto<>(List.of(new AuthorDto(1L, "Abigail Rose", 80)), 1, null));
+    }
+
+    private void assertSameJson(Object value) {
+        byte[] expected = defaultMapper.writeValueAsBytes(value);
+        byte[] actual = underTest.writeValueAsBytes(value);
+        assertThat(new String(actual)).isEqualTo(new String(expected));
+    }
+
+}